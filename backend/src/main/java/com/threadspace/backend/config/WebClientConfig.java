@@ -1,14 +1,52 @@
 package com.threadspace.backend.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Shared outbound HTTP client. One keep-alive connection pool serves every
+ * caller; HTTP/2 is negotiated where the server supports it and responses are
+ * requested gzip-compressed.
+ */
 @Configuration
 public class WebClientConfig {
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider httpConnectionProvider(
+            @Value("${threadspace.http.max-connections:100}") int maxConnections,
+            @Value("${threadspace.http.max-idle-ms:30000}") long maxIdleMillis,
+            @Value("${threadspace.http.pending-acquire-timeout-ms:5000}") long pendingAcquireTimeoutMillis) {
+        return ConnectionProvider.builder("threadspace-http")
+                .maxConnections(maxConnections)
+                .maxIdleTime(Duration.ofMillis(maxIdleMillis))
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMillis))
+                .evictInBackground(Duration.ofMillis(maxIdleMillis))
+                .build();
+    }
+
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public WebClient webClient(ConnectionProvider httpConnectionProvider,
+            @Value("${threadspace.http.connect-timeout-ms:3000}") int connectTimeoutMillis,
+            @Value("${threadspace.http.response-timeout-ms:10000}") long responseTimeoutMillis) {
+        HttpClient httpClient = HttpClient.create(httpConnectionProvider)
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .compress(true)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMillis));
+
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,325 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadspace.backend.integration.core.IntegrationRepository;
+import com.threadspace.backend.integration.core.IntegrationSecretRepository;
+import com.threadspace.backend.integration.core.IntegrationStatus;
+import com.threadspace.backend.integration.core.IntegrationStatusChanged;
+import com.threadspace.backend.integration.core.IntegrationType;
+import com.threadspace.backend.integration.core.IntegrationVerificationRequested;
+import com.threadspace.backend.integration.core.IntegrationWithSecret;
+
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.interceptor.Context;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.sts.StsClient;
+import software.amazon.awssdk.services.sts.auth.StsAssumeRoleCredentialsProvider;
+import software.amazon.awssdk.services.sts.model.AssumeRoleRequest;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Pool of AWS SDK clients, one entry per integration and credential version.
+ * Each entry holds an S3 client per region it has been asked for, and caches
+ * AssumeRole session credentials when the integration has a roleArn.
+ *
+ * All clients share a single async and a single sync HTTP client, so
+ * connections and TLS sessions are reused across requests. Entries with no
+ * request in flight and none for {@code threadspace.aws.clients.idle-timeout-ms}
+ * are closed. Entries built from an older credential version are dropped once
+ * new credentials are saved, and all of an integration's entries once it is no
+ * longer connected.
+ */
+@Component
+public class AwsClientRegistry implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AwsClientRegistry.class);
+
+    private final IntegrationRepository integrationRepository;
+    private final IntegrationSecretRepository integrationSecretRepository;
+    private final ObjectMapper objectMapper;
+    private final long idleTimeoutMillis;
+    private final int roleSessionSeconds;
+
+    private final SdkAsyncHttpClient asyncHttpClient;
+    private final SdkHttpClient httpClient;
+    private final Map<ClientKey, ClientEntry> entries = new ConcurrentHashMap<>();
+
+    public AwsClientRegistry(IntegrationRepository integrationRepository,
+            IntegrationSecretRepository integrationSecretRepository,
+            ObjectMapper objectMapper,
+            @Value("${threadspace.aws.clients.idle-timeout-ms:1800000}") long idleTimeoutMillis,
+            @Value("${threadspace.aws.clients.max-connections:200}") int maxConnections,
+            @Value("${threadspace.aws.role-session-seconds:3600}") int roleSessionSeconds) {
+        this.integrationRepository = integrationRepository;
+        this.integrationSecretRepository = integrationSecretRepository;
+        this.objectMapper = objectMapper;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.roleSessionSeconds = roleSessionSeconds;
+        this.asyncHttpClient = NettyNioAsyncHttpClient.builder()
+                .maxConcurrency(maxConnections)
+                .build();
+        this.httpClient = ApacheHttpClient.builder()
+                .maxConnections(maxConnections)
+                .build();
+    }
+
+    /**
+     * Client for the integration's configured region.
+     */
+    public S3AsyncClient s3(AwsConnection connection) {
+        return s3(connection, connection.credentials().region());
+    }
+
+    /**
+     * Client for the given region, sharing the integration's credentials.
+     */
+    public S3AsyncClient s3(AwsConnection connection, String region) {
+        return entryFor(connection).s3(Region.of(region));
+    }
+
+    public StsClient sts(AwsConnection connection) {
+        return entryFor(connection).sts;
+    }
+
+    /**
+     * Closes and removes every client built for the integration.
+     */
+    public void evict(UUID integrationId) {
+        entries.entrySet().removeIf(entry -> {
+            if (!entry.getKey().integrationId().equals(integrationId)) {
+                return false;
+            }
+            close(entry.getValue());
+            return true;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${threadspace.aws.clients.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        for (ClientKey key : entries.keySet()) {
+            // Atomic with the lookup in entryFor, so an entry just handed out is never closed
+            entries.computeIfPresent(key, (k, entry) -> {
+                if (entry.inFlight.get() > 0 || entry.lastUsedAt >= cutoff) {
+                    return entry;
+                }
+                close(entry);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Builds clients for every connected AWS integration, and fetches role
+     * session credentials in the background, so the first dashboard request
+     * after a restart pays for neither.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (IntegrationWithSecret connected : integrationRepository.findConnectedWithSecret(IntegrationType.AWS)) {
+            try {
+                entryFor(AwsConnection.from(connected.secret(), objectMapper)).prefetchCredentials();
+            } catch (Exception e) {
+                log.warn("Could not warm up AWS clients for integration {}: {}", connected.integration().getId(),
+                        e.getMessage());
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVerificationRequested(IntegrationVerificationRequested event) {
+        if (event.integrationType() != IntegrationType.AWS) {
+            return;
+        }
+        integrationSecretRepository.findByIntegrationId(event.integrationId())
+                .ifPresent(secret -> dropStaleVersions(new ClientKey(event.integrationId(),
+                        secret.getUpdatedAt().toInstant().toEpochMilli())));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(IntegrationStatusChanged event) {
+        if (event.status() != IntegrationStatus.CONNECTED) {
+            evict(event.integrationId());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        entries.values().forEach(this::close);
+        entries.clear();
+        asyncHttpClient.close();
+        httpClient.close();
+    }
+
+    private ClientEntry entryFor(AwsConnection connection) {
+        ClientKey key = new ClientKey(connection.integrationId(), connection.credentialVersion());
+        boolean created = !entries.containsKey(key);
+        ClientEntry entry = entries.compute(key, (k, existing) -> {
+            ClientEntry current = existing != null
+                    ? existing
+                    : new ClientEntry(k.integrationId(), connection.credentials());
+            current.lastUsedAt = System.currentTimeMillis();
+            return current;
+        });
+        if (created) {
+            dropStaleVersions(key);
+        }
+        return entry;
+    }
+
+    private void dropStaleVersions(ClientKey current) {
+        entries.entrySet().removeIf(entry -> {
+            ClientKey key = entry.getKey();
+            if (!key.integrationId().equals(current.integrationId())
+                    || key.credentialVersion() >= current.credentialVersion()) {
+                return false;
+            }
+            close(entry.getValue());
+            return true;
+        });
+    }
+
+    private void close(ClientEntry entry) {
+        try {
+            entry.s3Clients.values().forEach(S3AsyncClient::close);
+            entry.sts.close();
+            if (entry.credentialsProvider instanceof SdkAutoCloseable closeable) {
+                closeable.close();
+            }
+            if (entry.baseSts != entry.sts) {
+                entry.baseSts.close();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to close AWS clients: {}", e.getMessage());
+        }
+    }
+
+    private record ClientKey(UUID integrationId, long credentialVersion) {
+    }
+
+    /**
+     * Clients for one credential version. With a roleArn, every client signs
+     * with session credentials from AssumeRole; the SDK provider caches them,
+     * lets a single caller refresh them, and refreshes them in the background
+     * ahead of expiry, so requests do not wait on STS and concurrent requests
+     * do not stampede it.
+     */
+    private final class ClientEntry {
+
+        private final UUID integrationId;
+        private final StsClient baseSts;
+        private final AwsCredentialsProvider credentialsProvider;
+        private final Map<Region, S3AsyncClient> s3Clients = new ConcurrentHashMap<>();
+        private final StsClient sts;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        // Keeps the entry alive while any request, e.g. a long scan's next page, is using it
+        private final ExecutionInterceptor usageTracker = new ExecutionInterceptor() {
+            @Override
+            public void beforeExecution(Context.BeforeExecution context, ExecutionAttributes attributes) {
+                inFlight.incrementAndGet();
+                lastUsedAt = System.currentTimeMillis();
+            }
+
+            @Override
+            public void afterExecution(Context.AfterExecution context, ExecutionAttributes attributes) {
+                finished();
+            }
+
+            @Override
+            public void onExecutionFailure(Context.FailedExecution context, ExecutionAttributes attributes) {
+                finished();
+            }
+
+            private void finished() {
+                lastUsedAt = System.currentTimeMillis();
+                inFlight.decrementAndGet();
+            }
+        };
+
+        private ClientEntry(UUID integrationId, AwsSecretPayload credentials) {
+            this.integrationId = integrationId;
+            AwsCredentialsProvider keys = StaticCredentialsProvider.create(
+                    AwsBasicCredentials.create(credentials.accessKeyId(), credentials.secretAccessKey()));
+            Region region = Region.of(credentials.region());
+
+            this.baseSts = StsClient.builder()
+                    .region(region)
+                    .credentialsProvider(keys)
+                    .httpClient(httpClient)
+                    .build();
+
+            if (credentials.roleArn() == null || credentials.roleArn().isBlank()) {
+                this.credentialsProvider = keys;
+                this.sts = baseSts;
+            } else {
+                this.credentialsProvider = StsAssumeRoleCredentialsProvider.builder()
+                        .stsClient(baseSts)
+                        .refreshRequest(AssumeRoleRequest.builder()
+                                .roleArn(credentials.roleArn())
+                                .roleSessionName("threadspace-" + integrationId)
+                                .durationSeconds(roleSessionSeconds)
+                                .build())
+                        .asyncCredentialUpdateEnabled(true)
+                        .prefetchTime(Duration.ofMinutes(5))
+                        .staleTime(Duration.ofMinutes(1))
+                        .build();
+                this.sts = StsClient.builder()
+                        .region(region)
+                        .credentialsProvider(credentialsProvider)
+                        .httpClient(httpClient)
+                        .build();
+            }
+
+            s3(region);
+        }
+
+        private S3AsyncClient s3(Region region) {
+            return s3Clients.computeIfAbsent(region, r -> S3AsyncClient.builder()
+                    .region(r)
+                    .credentialsProvider(credentialsProvider)
+                    .httpClient(asyncHttpClient)
+                    .overrideConfiguration(config -> config.addExecutionInterceptor(usageTracker))
+                    .build());
+        }
+
+        private void prefetchCredentials() {
+            if (credentialsProvider instanceof StsAssumeRoleCredentialsProvider) {
+                CompletableFuture.runAsync(credentialsProvider::resolveCredentials)
+                        .exceptionally(error -> {
+                            log.warn("Could not assume role for integration {}: {}", integrationId,
+                                    error.getMessage());
+                            return null;
+                        });
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.threadspace.backend.integration.aws;
+
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadspace.backend.integration.core.IntegrationSecret;
+import com.threadspace.backend.integration.core.IntegrationSecretCache.DecodedSecret;
+
+/**
+ * Decoded AWS credentials for one integration, tagged with the version of the
+ * secret row they were read from so pooled clients can tell when they are stale.
+ */
+public record AwsConnection(
+        UUID integrationId,
+        long credentialVersion,
+        AwsSecretPayload credentials) {
+
+    public static AwsConnection from(IntegrationSecret secret, ObjectMapper objectMapper) {
+        AwsSecretPayload payload;
+        try {
+            payload = objectMapper.readValue(secret.getSecretJson(), AwsSecretPayload.class);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse AWS credentials", e);
+        }
+
+        return new AwsConnection(
+                secret.getIntegrationId(),
+                secret.getUpdatedAt().toInstant().toEpochMilli(),
+                payload);
+    }
+
+    public static AwsConnection from(DecodedSecret<AwsSecretPayload> secret) {
+        return new AwsConnection(secret.integrationId(), secret.version(), secret.payload());
+    }
+}
@@ -1,6 +1,8 @@
 package com.threadspace.backend.integration.aws;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -9,16 +11,15 @@ import com.threadspace.backend.integration.core.Integration;
 import com.threadspace.backend.integration.core.IntegrationProvider;
 import com.threadspace.backend.integration.core.IntegrationRepository;
 import com.threadspace.backend.integration.core.IntegrationSecret;
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
 import com.threadspace.backend.integration.core.IntegrationSecretRepository;
-import com.threadspace.backend.integration.core.IntegrationStatus;
+import com.threadspace.backend.integration.core.IntegrationSyncTask;
 import com.threadspace.backend.integration.core.IntegrationType;
+import com.threadspace.backend.integration.core.IntegrationVerificationRequested;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.sts.StsClient;
-import software.amazon.awssdk.services.sts.model.GetCallerIdentityResponse;
 import software.amazon.awssdk.services.sts.model.StsException;
 
 @Service
@@ -27,13 +28,28 @@ public class AwsIntegrationProvider implements IntegrationProvider {
     private final IntegrationRepository integrationRepository;
     private final IntegrationSecretRepository integrationSecretRepository;
     private final ObjectMapper objectMapper;
+    private final IntegrationSecretCache secretCache;
+    private final AwsClientRegistry clientRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final S3MetricsSnapshotService snapshotService;
+    private final Duration collectInterval;
 
     public AwsIntegrationProvider(IntegrationRepository integrationRepository,
             IntegrationSecretRepository integrationSecretRepository,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            IntegrationSecretCache secretCache,
+            AwsClientRegistry clientRegistry,
+            ApplicationEventPublisher eventPublisher,
+            S3MetricsSnapshotService snapshotService,
+            @Value("${threadspace.aws.s3.collect-interval-ms:900000}") long collectIntervalMillis) {
         this.integrationRepository = integrationRepository;
         this.integrationSecretRepository = integrationSecretRepository;
         this.objectMapper = objectMapper;
+        this.secretCache = secretCache;
+        this.clientRegistry = clientRegistry;
+        this.eventPublisher = eventPublisher;
+        this.snapshotService = snapshotService;
+        this.collectInterval = Duration.ofMillis(collectIntervalMillis);
     }
 
     @Override
@@ -58,6 +74,7 @@ public class AwsIntegrationProvider implements IntegrationProvider {
         String secretAccessKey = credentials.get("secretAccessKey");
         String region = credentials.get("region");
         String roleArn = credentials.get("roleArn");
+        String inventoryEnabled = credentials.get("inventoryEnabled");
 
         if (accessKeyId == null || accessKeyId.isBlank()) {
             throw new IllegalArgumentException("AWS accessKeyId is required");
@@ -74,7 +91,7 @@ public class AwsIntegrationProvider implements IntegrationProvider {
         integration.setDisplayName(displayName.trim());
         integration.setIntegrationType(IntegrationType.AWS);
         integration.setProjectId(projectId);
-        integration.setIntegrationStatus(IntegrationStatus.PENDING);
+        integration.requestVerification();
 
         integration = integrationRepository.save(integration);
 
@@ -83,7 +100,8 @@ public class AwsIntegrationProvider implements IntegrationProvider {
                 accessKeyId.trim(),
                 secretAccessKey.trim(),
                 region.trim(),
-                roleArn != null ? roleArn.trim() : null);
+                roleArn != null ? roleArn.trim() : null,
+                Boolean.parseBoolean(inventoryEnabled));
 
         String json;
         try {
@@ -102,11 +120,11 @@ public class AwsIntegrationProvider implements IntegrationProvider {
 
         integrationSecretRepository.save(secret);
 
-        // Validate AWS credentials
-        verifyCredentials(accessKeyId.trim(), secretAccessKey.trim(), region.trim());
+        // Credentials are checked against STS once this transaction commits
+        eventPublisher.publishEvent(new IntegrationVerificationRequested(integration.getId(),
+                integration.getProjectId(), IntegrationType.AWS));
 
-        integration.setIntegrationStatus(IntegrationStatus.CONNECTED);
-        return integrationRepository.save(integration);
+        return integration;
     }
 
     @Override
@@ -119,22 +137,28 @@ public class AwsIntegrationProvider implements IntegrationProvider {
         throw new UnsupportedOperationException("AWS getDisplayCredentials not yet implemented");
     }
 
-    private void verifyCredentials(String accessKeyId, String secretAccessKey, String region) {
-        AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKeyId, secretAccessKey);
-
-        try (StsClient stsClient = StsClient.builder()
-                .region(Region.of(region))
-                .credentialsProvider(StaticCredentialsProvider.create(credentials))
-                .build()) {
-
-            GetCallerIdentityResponse response = stsClient.getCallerIdentity();
-            // Credentials are valid - identity confirmed
-            // Account: response.account(), ARN: response.arn()
+    @Override
+    public void verify(Integration integration) {
+        AwsConnection connection = AwsConnection.from(secretCache.get(integration, AwsSecretPayload.class));
 
+        try {
+            // Credentials are valid if STS can tell us who they belong to
+            clientRegistry.sts(connection).getCallerIdentity();
         } catch (StsException e) {
+            clientRegistry.evict(connection.integrationId());
+            // Throttling and server errors are worth retrying; other client errors reject the credentials
+            if (e.isThrottlingException() || e.statusCode() >= 500) {
+                throw e;
+            }
             throw new IllegalArgumentException("Invalid AWS credentials: " + e.awsErrorDetails().errorMessage(), e);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Failed to verify AWS credentials: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            clientRegistry.evict(connection.integrationId());
+            throw e;
         }
     }
+
+    @Override
+    public Optional<IntegrationSyncTask> createSyncTask(Integration integration) {
+        return Optional.of(new IntegrationSyncTask(collectInterval, fence -> snapshotService.collect(integration, fence)));
+    }
 }
@@ -1,32 +1,54 @@
 package com.threadspace.backend.integration.aws;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @RestController
 @RequestMapping("/projects/{projectId}/aws/s3")
 public class AwsS3Controller {
 
+    private static final Logger log = LoggerFactory.getLogger(AwsS3Controller.class);
+
+    private static final int MAX_BREAKDOWN_DEPTH = 8;
+    private static final long STREAM_TIMEOUT_MS = 10 * 60 * 1000L;
+
     private final AwsS3Service awsS3Service;
+    private final S3MetricsSnapshotService snapshotService;
+    private final ObjectMapper objectMapper;
 
     @Value("${INTERNAL_SYNC_TOKEN}")
     private String internalSyncToken;
 
-    public AwsS3Controller(AwsS3Service awsS3Service) {
+    public AwsS3Controller(AwsS3Service awsS3Service, S3MetricsSnapshotService snapshotService,
+            ObjectMapper objectMapper) {
         this.awsS3Service = awsS3Service;
+        this.snapshotService = snapshotService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/buckets")
     public ResponseEntity<?> getS3Buckets(
             @PathVariable UUID projectId,
+            @RequestParam(name = "mode", required = false) S3ScanMode mode,
             @RequestHeader(value = "x-internal-token", required = false) String token) {
 
         if (!isValidToken(token)) {
@@ -34,7 +56,7 @@ public class AwsS3Controller {
         }
 
         try {
-            List<AwsS3Service.S3BucketInfo> buckets = awsS3Service.getS3Buckets(projectId);
+            List<AwsS3Service.S3BucketInfo> buckets = awsS3Service.getS3Buckets(projectId, mode);
             return ResponseEntity.ok(buckets);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body(e.getMessage());
@@ -43,9 +65,87 @@ public class AwsS3Controller {
         }
     }
 
+    /**
+     * Streams each bucket as soon as it has been scanned, followed by the
+     * aggregate metrics. Sends server-sent events when the client accepts
+     * text/event-stream and NDJSON otherwise.
+     */
+    @GetMapping("/buckets/stream")
+    public ResponseEntity<ResponseBodyEmitter> streamS3Buckets(
+            @PathVariable UUID projectId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = "x-internal-token", required = false) String token) {
+
+        if (!isValidToken(token)) {
+            return ResponseEntity.status(401).build();
+        }
+
+        boolean sse = accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        ResponseBodyEmitter emitter = sse
+                ? new SseEmitter(STREAM_TIMEOUT_MS)
+                : new ResponseBodyEmitter(STREAM_TIMEOUT_MS);
+
+        CompletableFuture<AwsS3Service.S3Metrics> scan;
+        try {
+            scan = awsS3Service.streamS3Buckets(projectId,
+                    bucket -> send(emitter, AwsS3Service.S3StreamEvent.bucket(bucket)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).build();
+        }
+
+        // Stop scanning once nobody is listening
+        emitter.onTimeout(() -> scan.cancel(false));
+        emitter.onError(error -> scan.cancel(false));
+        emitter.onCompletion(() -> scan.cancel(false));
+
+        scan.whenComplete((metrics, error) -> {
+            if (scan.isCancelled()) {
+                log.debug("S3 bucket stream for project {} ended before the scan finished", projectId);
+                return;
+            }
+            if (error != null) {
+                log.warn("S3 bucket stream failed for project {}: {}", projectId, error.getMessage());
+                emitter.completeWithError(error);
+                return;
+            }
+            send(emitter, AwsS3Service.S3StreamEvent.metrics(metrics));
+            emitter.complete();
+        });
+
+        return ResponseEntity.ok()
+                .contentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON)
+                .body(emitter);
+    }
+
+    @GetMapping("/buckets/{bucket}/breakdown")
+    public ResponseEntity<?> getS3BucketBreakdown(
+            @PathVariable UUID projectId,
+            @PathVariable String bucket,
+            @RequestParam(name = "depth", defaultValue = "2") int depth,
+            @RequestHeader(value = "x-internal-token", required = false) String token) {
+
+        if (!isValidToken(token)) {
+            return ResponseEntity.status(401).body("Unauthorized");
+        }
+        if (depth < 0 || depth > MAX_BREAKDOWN_DEPTH) {
+            return ResponseEntity.status(400).body("depth must be between 0 and " + MAX_BREAKDOWN_DEPTH);
+        }
+
+        try {
+            S3PrefixAggregator.S3BucketBreakdown breakdown = awsS3Service.getBucketBreakdown(projectId, bucket,
+                    depth);
+            return ResponseEntity.ok(breakdown);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body("Failed to fetch S3 bucket breakdown: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/metrics")
     public ResponseEntity<?> getS3Metrics(
             @PathVariable UUID projectId,
+            @RequestParam(name = "refresh", defaultValue = "false") boolean refresh,
             @RequestHeader(value = "x-internal-token", required = false) String token) {
 
         if (!isValidToken(token)) {
@@ -53,7 +153,7 @@ public class AwsS3Controller {
         }
 
         try {
-            AwsS3Service.S3Metrics metrics = awsS3Service.getS3Metrics(projectId);
+            AwsS3Service.S3Metrics metrics = snapshotService.getS3Metrics(projectId, refresh);
             return ResponseEntity.ok(metrics);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(404).body(e.getMessage());
@@ -62,6 +162,20 @@ public class AwsS3Controller {
         }
     }
 
+    private void send(ResponseBodyEmitter emitter, AwsS3Service.S3StreamEvent event) {
+        try {
+            if (emitter instanceof SseEmitter sseEmitter) {
+                Object data = event.bucket() != null ? event.bucket() : event.metrics();
+                sseEmitter.send(SseEmitter.event().name(event.type()).data(data, MediaType.APPLICATION_JSON));
+            } else {
+                emitter.send(objectMapper.writeValueAsString(event) + "\n", MediaType.APPLICATION_NDJSON);
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the stream timed out; the remaining sends fail the same way
+            log.debug("Could not write S3 stream event: {}", e.getMessage());
+        }
+    }
+
     private boolean isValidToken(String token) {
         return internalSyncToken != null && internalSyncToken.equals(token);
     }
@@ -1,97 +1,143 @@
 package com.threadspace.backend.integration.aws;
 
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.threadspace.backend.integration.aws.S3PrefixAggregator.S3BucketBreakdown;
+import com.threadspace.backend.integration.aws.S3RegionResolver.RoutedBucket;
 import com.threadspace.backend.integration.core.Integration;
-import com.threadspace.backend.integration.core.IntegrationRepository;
-import com.threadspace.backend.integration.core.IntegrationSecret;
-import com.threadspace.backend.integration.core.IntegrationSecretRepository;
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
+import com.threadspace.backend.integration.core.IntegrationSecretCache.DecodedSecret;
 import com.threadspace.backend.integration.core.IntegrationStatus;
 import com.threadspace.backend.integration.core.IntegrationType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
-import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
-import software.amazon.awssdk.regions.Region;
-import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.Bucket;
 import software.amazon.awssdk.services.s3.model.ListBucketsResponse;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
-import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
-import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
 
 @Service
 public class AwsS3Service {
 
-    private final IntegrationRepository integrationRepository;
-    private final IntegrationSecretRepository integrationSecretRepository;
-    private final ObjectMapper objectMapper;
+    private final IntegrationSecretCache secretCache;
+    private final S3BucketScanner bucketScanner;
+    private final S3IncrementalScanner incrementalScanner;
+    private final AwsClientRegistry clientRegistry;
+    private final S3RegionResolver regionResolver;
+    private final S3ScanMode defaultScanMode;
+    private final int maxBreakdownPrefixes;
 
-    public AwsS3Service(IntegrationRepository integrationRepository,
-            IntegrationSecretRepository integrationSecretRepository,
-            ObjectMapper objectMapper) {
-        this.integrationRepository = integrationRepository;
-        this.integrationSecretRepository = integrationSecretRepository;
-        this.objectMapper = objectMapper;
+    public AwsS3Service(IntegrationSecretCache secretCache,
+            S3BucketScanner bucketScanner,
+            S3IncrementalScanner incrementalScanner,
+            AwsClientRegistry clientRegistry,
+            S3RegionResolver regionResolver,
+            @Value("${threadspace.aws.s3.scan-mode:FULL}") S3ScanMode defaultScanMode,
+            @Value("${threadspace.aws.s3.breakdown.max-prefixes:10000}") int maxBreakdownPrefixes) {
+        this.secretCache = secretCache;
+        this.bucketScanner = bucketScanner;
+        this.incrementalScanner = incrementalScanner;
+        this.clientRegistry = clientRegistry;
+        this.regionResolver = regionResolver;
+        this.defaultScanMode = defaultScanMode;
+        this.maxBreakdownPrefixes = maxBreakdownPrefixes;
     }
 
-    @Transactional(readOnly = true)
-    public List<S3BucketInfo> getS3Buckets(UUID projectId) {
-        AwsSecretPayload credentials = getAwsCredentials(projectId);
+    /**
+     * Scans the project's buckets live. A null {@code mode} uses
+     * {@code threadspace.aws.s3.scan-mode}.
+     */
+    public List<S3BucketInfo> getS3Buckets(UUID projectId, S3ScanMode mode) {
+        return scanBuckets(getAwsConnection(projectId),
+                mode != null ? mode : defaultScanMode, false);
+    }
 
-        try (S3Client s3Client = createS3Client(credentials)) {
-            ListBucketsResponse response = s3Client.listBuckets();
+    /**
+     * Starts a full scan of the project's buckets, handing each bucket to
+     * {@code onBucket} as soon as it finishes. The returned future completes
+     * with the aggregate metrics once every bucket is done, and cancelling it
+     * stops the scan from starting further buckets. The integration is looked
+     * up before returning, so a missing integration fails immediately.
+     */
+    public CompletableFuture<S3Metrics> streamS3Buckets(UUID projectId, Consumer<S3BucketInfo> onBucket) {
+        AwsConnection connection = getAwsConnection(projectId);
+        S3AsyncClient s3Client = clientRegistry.s3(connection);
 
-            List<S3BucketInfo> buckets = new ArrayList<>();
-            for (Bucket bucket : response.buckets()) {
-                // Get object count and size for each bucket
-                long objectCount = 0;
-                long totalSize = 0;
+        CompletableFuture<S3Metrics> result = new CompletableFuture<>();
+        s3Client.listBuckets()
+                .thenCompose(response -> {
+                    CompletableFuture<List<S3BucketInfo>> scan = bucketScanner.scanBuckets(connection,
+                            response.buckets(), onBucket);
+                    result.whenComplete((metrics, error) -> {
+                        if (result.isCancelled()) {
+                            scan.cancel(false);
+                        }
+                    });
+                    return scan;
+                })
+                .thenApply(buckets -> summarize(buckets, OffsetDateTime.now()))
+                .whenComplete((metrics, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(metrics);
+                    }
+                });
+        return result;
+    }
 
-                try {
-                    ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
-                            .bucket(bucket.name())
-                            .maxKeys(1000)
-                            .build();
+    /**
+     * Scans the integration's buckets for periodic collection.
+     */
+    public List<S3BucketInfo> getS3Buckets(AwsConnection connection) {
+        return scanBuckets(connection, defaultScanMode, true);
+    }
 
-                    ListObjectsV2Response listResponse = s3Client.listObjectsV2(listRequest);
-                    objectCount = listResponse.keyCount();
+    /**
+     * Lists every object in the bucket and rolls sizes up by prefix, to
+     * {@code depth} levels, and by storage class.
+     */
+    public S3BucketBreakdown getBucketBreakdown(UUID projectId, String bucketName, int depth) {
+        AwsConnection connection = getAwsConnection(projectId);
 
-                    for (S3Object object : listResponse.contents()) {
-                        totalSize += object.size();
-                    }
-                } catch (Exception e) {
-                    // If we can't access bucket details, just skip
-                    System.err.println("Could not get details for bucket: " + bucket.name());
-                }
-
-                S3BucketInfo info = new S3BucketInfo(
-                        bucket.name(),
-                        bucket.creationDate() != null ? bucket.creationDate().toString() : "",
-                        objectCount,
-                        totalSize,
-                        credentials.region());
-                buckets.add(info);
-            }
+        try {
+            RoutedBucket routed = regionResolver
+                    .route(connection, Bucket.builder().name(bucketName).build())
+                    .join();
 
-            return buckets;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to fetch S3 buckets: " + e.getMessage(), e);
+            S3PrefixAggregator aggregator = bucketScanner
+                    .aggregate(connection, routed, () -> new S3PrefixAggregator(depth, maxBreakdownPrefixes))
+                    .join();
+
+            return aggregator.toBreakdown(bucketName, routed.region());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof NoSuchBucketException) {
+                throw new IllegalArgumentException("S3 bucket not found: " + bucketName);
+            }
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("Failed to fetch S3 bucket breakdown: " + cause.getMessage(), cause);
         }
     }
 
-    @Transactional(readOnly = true)
-    public S3Metrics getS3Metrics(UUID projectId) {
-        List<S3BucketInfo> buckets = getS3Buckets(projectId);
-
+    public static S3Metrics summarize(List<S3BucketInfo> buckets, OffsetDateTime collectedAt) {
         int totalBuckets = buckets.size();
         long totalObjects = 0;
         long totalStorageBytes = 0;
+        List<String> unavailable = new ArrayList<>();
 
         for (S3BucketInfo bucket : buckets) {
+            if (bucket.error() != null) {
+                unavailable.add(bucket.name());
+                continue;
+            }
             totalObjects += bucket.objectCount();
             totalStorageBytes += bucket.sizeBytes();
         }
@@ -103,53 +149,112 @@ public class AwsS3Service {
                 totalBuckets,
                 totalObjects,
                 totalStorageGB,
-                buckets);
+                buckets,
+                collectedAt,
+                Math.max(0, Duration.between(collectedAt, OffsetDateTime.now()).toSeconds()),
+                unavailable);
     }
 
-    private AwsSecretPayload getAwsCredentials(UUID projectId) {
-        // Find AWS integration for this project
-        Integration integration = integrationRepository
-                .findByProjectIdAndIntegrationType(projectId, IntegrationType.AWS)
-                .stream()
-                .filter(i -> i.getIntegrationStatus() == IntegrationStatus.CONNECTED)
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("No connected AWS integration found for project"));
-
-        // Get secret
-        IntegrationSecret secret = integrationSecretRepository
-                .findByIntegrationId(integration.getId())
-                .orElseThrow(() -> new IllegalArgumentException("AWS credentials not found"));
+    private List<S3BucketInfo> scanBuckets(AwsConnection connection, S3ScanMode mode, boolean scheduled) {
+        S3AsyncClient s3Client = clientRegistry.s3(connection);
 
         try {
-            return objectMapper.readValue(secret.getSecretJson(), AwsSecretPayload.class);
+            ListBucketsResponse response = s3Client.listBuckets().join();
+
+            if (mode == S3ScanMode.INCREMENTAL) {
+                return incrementalScanner.scan(connection, response.buckets(), scheduled);
+            }
+
+            return bucketScanner
+                    .scanBuckets(connection, response.buckets())
+                    .join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new RuntimeException("Failed to fetch S3 buckets: " + cause.getMessage(), cause);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to parse AWS credentials", e);
+            throw new RuntimeException("Failed to fetch S3 buckets: " + e.getMessage(), e);
         }
     }
 
-    private S3Client createS3Client(AwsSecretPayload credentials) {
-        AwsBasicCredentials awsCredentials = AwsBasicCredentials.create(
-                credentials.accessKeyId(),
-                credentials.secretAccessKey());
+    /**
+     * The project's CONNECTED AWS integration's credentials, from the secret cache.
+     */
+    public AwsConnection getAwsConnection(UUID projectId) {
+        DecodedSecret<AwsSecretPayload> secret = secretCache.get(projectId, IntegrationType.AWS,
+                AwsSecretPayload.class);
+        if (secret.status() != IntegrationStatus.CONNECTED) {
+            throw new IllegalArgumentException("No connected AWS integration found for project");
+        }
 
-        return S3Client.builder()
-                .region(Region.of(credentials.region()))
-                .credentialsProvider(StaticCredentialsProvider.create(awsCredentials))
-                .build();
+        return AwsConnection.from(secret);
     }
 
+    public AwsConnection getAwsConnection(Integration integration) {
+        return AwsConnection.from(secretCache.get(integration, AwsSecretPayload.class));
+    }
+
+    /**
+     * Bucket totals. The byte deltas are relative to the previous incremental
+     * scan, and zero for full scans and for a bucket's first incremental scan.
+     * Incremental scans set {@code asOf} to when the oldest part of the totals
+     * was listed, which is earlier than the scan when unchanged prefixes were
+     * carried forward. When the bucket could not be read, {@code error} says
+     * why and the counts are zero.
+     */
     public record S3BucketInfo(
             String name,
             String creationDate,
             long objectCount,
             long sizeBytes,
-            String region) {
+            String region,
+            long addedBytes,
+            long removedBytes,
+            long changedBytes,
+            @JsonInclude(JsonInclude.Include.NON_NULL) OffsetDateTime asOf,
+            @JsonInclude(JsonInclude.Include.NON_NULL) String error) {
+
+        public static S3BucketInfo failed(Bucket bucket, String region, String error) {
+            return new S3BucketInfo(
+                    bucket.name(),
+                    bucket.creationDate() != null ? bucket.creationDate().toString() : "",
+                    0,
+                    0,
+                    region,
+                    0,
+                    0,
+                    0,
+                    null,
+                    error != null ? error : "Unknown error");
+        }
+    }
+
+    /**
+     * One line of the streamed bucket listing: a bucket as it finishes, then the
+     * aggregate metrics as the final record.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record S3StreamEvent(
+            String type,
+            S3BucketInfo bucket,
+            S3Metrics metrics) {
+
+        public static S3StreamEvent bucket(S3BucketInfo bucket) {
+            return new S3StreamEvent("bucket", bucket, null);
+        }
+
+        public static S3StreamEvent metrics(S3Metrics metrics) {
+            return new S3StreamEvent("metrics", null, metrics);
+        }
     }
 
     public record S3Metrics(
             int totalBuckets,
             long totalObjects,
             double totalStorageGB,
-            List<S3BucketInfo> buckets) {
+            List<S3BucketInfo> buckets,
+            OffsetDateTime collectedAt,
+            long ageSeconds,
+            // Buckets that could not be read and are left out of the totals
+            @JsonInclude(JsonInclude.Include.NON_EMPTY) List<String> unavailable) {
     }
 }
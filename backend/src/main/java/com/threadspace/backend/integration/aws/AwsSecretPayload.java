@@ -4,5 +4,11 @@ public record AwsSecretPayload(
         String accessKeyId,
         String secretAccessKey,
         String region,
-        String roleArn) {
+        String roleArn,
+        Boolean inventoryEnabled) {
+
+    // Read bucket totals from S3 Inventory reports where a bucket has them
+    public boolean useInventory() {
+        return Boolean.TRUE.equals(inventoryEnabled);
+    }
 }
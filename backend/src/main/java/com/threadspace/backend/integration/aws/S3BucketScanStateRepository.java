@@ -0,0 +1,52 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface S3BucketScanStateRepository extends JpaRepository<S3BucketScanState, UUID> {
+
+    List<S3BucketScanState> findByIntegrationId(UUID integrationId);
+
+    /**
+     * Writes the bucket's totals, replacing whatever another scan stored for
+     * the same bucket.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into s3bucket_scan_states (id, integration_id, bucket_name, last_scan_at, listed_whole,
+                    object_count, size_bytes, added_bytes, removed_bytes, changed_bytes)
+            values (gen_random_uuid(), :integrationId, :bucketName, :lastScanAt, :listedWhole,
+                    :objectCount, :sizeBytes, :addedBytes, :removedBytes, :changedBytes)
+            on conflict (integration_id, bucket_name) do update set
+                last_scan_at = excluded.last_scan_at,
+                listed_whole = excluded.listed_whole,
+                object_count = excluded.object_count,
+                size_bytes = excluded.size_bytes,
+                added_bytes = excluded.added_bytes,
+                removed_bytes = excluded.removed_bytes,
+                changed_bytes = excluded.changed_bytes
+            """, nativeQuery = true)
+    int upsert(@Param("integrationId") UUID integrationId,
+            @Param("bucketName") String bucketName,
+            @Param("lastScanAt") OffsetDateTime lastScanAt,
+            @Param("listedWhole") boolean listedWhole,
+            @Param("objectCount") long objectCount,
+            @Param("sizeBytes") long sizeBytes,
+            @Param("addedBytes") long addedBytes,
+            @Param("removedBytes") long removedBytes,
+            @Param("changedBytes") long changedBytes);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from s3bucket_scan_states where integration_id = :integrationId and bucket_name = :bucketName",
+            nativeQuery = true)
+    int deleteByBucket(@Param("integrationId") UUID integrationId, @Param("bucketName") String bucketName);
+}
@@ -0,0 +1,179 @@
+package com.threadspace.backend.integration.aws;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.threadspace.backend.integration.aws.AwsS3Service.S3BucketInfo;
+import com.threadspace.backend.integration.aws.S3RegionResolver.RoutedBucket;
+
+import software.amazon.awssdk.services.s3.model.Bucket;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Scans S3 buckets for object count and total size.
+ *
+ * Every bucket is listed to the end by following continuation tokens, and
+ * buckets are scanned concurrently with at most {@code parallelism} listings
+ * in flight, so wall-clock time tracks the largest bucket rather than the sum
+ * of all of them.
+ */
+@Component
+public class S3BucketScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(S3BucketScanner.class);
+
+    private final S3RegionResolver regionResolver;
+    private final S3InventorySource inventorySource;
+    private final int parallelism;
+
+    public S3BucketScanner(S3RegionResolver regionResolver,
+            S3InventorySource inventorySource,
+            @Value("${threadspace.aws.s3.scan-parallelism:8}") int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("threadspace.aws.s3.scan-parallelism must be at least 1");
+        }
+        this.regionResolver = regionResolver;
+        this.inventorySource = inventorySource;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Scans the given buckets, each through a client for its own region,
+     * preserving their order in the result.
+     */
+    public CompletableFuture<List<S3BucketInfo>> scanBuckets(AwsConnection connection, List<Bucket> buckets) {
+        return scanBuckets(connection, buckets, info -> {
+        });
+    }
+
+    /**
+     * Same as {@link #scanBuckets(AwsConnection, List)}, also handing each
+     * bucket to {@code onBucket} as soon as it has been scanned.
+     */
+    public CompletableFuture<List<S3BucketInfo>> scanBuckets(AwsConnection connection, List<Bucket> buckets,
+            Consumer<S3BucketInfo> onBucket) {
+        return scanBuckets(buckets, bucket -> regionResolver.route(connection, bucket)
+                .thenCompose(routed -> scanBucket(connection, routed))
+                .thenApply(info -> {
+                    onBucket.accept(info);
+                    return info;
+                }));
+    }
+
+    /**
+     * Runs {@code scan} for every bucket with bounded parallelism, preserving
+     * bucket order in the result. Cancelling the returned future stops any
+     * further buckets from being started.
+     */
+    public <T> CompletableFuture<List<T>> scanBuckets(List<Bucket> buckets,
+            Function<Bucket, CompletableFuture<T>> scan) {
+        List<T> results = new ArrayList<>(Collections.nCopies(buckets.size(), null));
+        AtomicInteger next = new AtomicInteger();
+        CompletableFuture<List<T>> done = new CompletableFuture<>();
+
+        // Each worker pulls the next unscanned bucket when its current one finishes
+        int workers = Math.min(parallelism, buckets.size());
+        CompletableFuture<?>[] running = new CompletableFuture<?>[workers];
+        for (int i = 0; i < workers; i++) {
+            running[i] = scanRemaining(buckets, scan, results, next, done);
+        }
+
+        CompletableFuture.allOf(running).whenComplete((v, error) -> {
+            if (error != null) {
+                done.completeExceptionally(error);
+            } else {
+                done.complete(results);
+            }
+        });
+        return done;
+    }
+
+    private <T> CompletableFuture<Void> scanRemaining(List<Bucket> buckets,
+            Function<Bucket, CompletableFuture<T>> scan, List<T> results, AtomicInteger next,
+            CompletableFuture<?> done) {
+        int index = next.getAndIncrement();
+        if (index >= buckets.size() || done.isDone()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return scan.apply(buckets.get(index))
+                .thenCompose(result -> {
+                    results.set(index, result);
+                    return scanRemaining(buckets, scan, results, next, done);
+                });
+    }
+
+    /**
+     * Totals one bucket. Never completes exceptionally: a bucket we cannot read
+     * is reported with its error, and left out of the totals.
+     */
+    CompletableFuture<S3BucketInfo> scanBucket(AwsConnection connection, RoutedBucket routed) {
+        Bucket bucket = routed.bucket();
+
+        return aggregate(connection, routed, () -> new S3PrefixAggregator(0, 0))
+                .handle((totals, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error;
+                        log.warn("Could not get details for bucket {}: {}", bucket.name(), cause.getMessage());
+                        return S3BucketInfo.failed(bucket, routed.region(), cause.getMessage());
+                    }
+                    return new S3BucketInfo(
+                            bucket.name(),
+                            bucket.creationDate() != null ? bucket.creationDate().toString() : "",
+                            totals.objectCount(),
+                            totals.sizeBytes(),
+                            routed.region(),
+                            0,
+                            0,
+                            0,
+                            null,
+                            null);
+                });
+    }
+
+    /**
+     * Feeds every object in the bucket into a fresh aggregator, from the
+     * bucket's S3 Inventory report when the integration has inventory enabled
+     * and one exists, and from a full listing otherwise.
+     */
+    public CompletableFuture<S3PrefixAggregator> aggregate(AwsConnection connection, RoutedBucket routed,
+            Supplier<S3PrefixAggregator> aggregators) {
+        if (!connection.credentials().useInventory()) {
+            return list(routed, aggregators.get());
+        }
+
+        return inventorySource.aggregate(connection, routed, aggregators)
+                .thenCompose(fromInventory -> fromInventory
+                        .map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> list(routed, aggregators.get())));
+    }
+
+    private CompletableFuture<S3PrefixAggregator> list(RoutedBucket routed, S3PrefixAggregator aggregator) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(routed.bucket().name())
+                .build();
+
+        return routed.client().listObjectsV2Paginator(request)
+                .subscribe(page -> {
+                    for (S3Object object : page.contents()) {
+                        aggregator.add(object.key(), object.size(), object.storageClassAsString());
+                    }
+                })
+                .thenApply(v -> aggregator);
+    }
+}
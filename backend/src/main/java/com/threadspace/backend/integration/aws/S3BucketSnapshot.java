@@ -0,0 +1,153 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * One bucket's totals within an {@link S3MetricsSnapshot}.
+ */
+@Entity
+@Table(name = "s3BucketSnapshots")
+public class S3BucketSnapshot {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "snapshotId", nullable = false)
+    private UUID snapshotId;
+
+    @Column(name = "bucketName", nullable = false)
+    private String bucketName;
+
+    @Column(name = "creationDate")
+    private String creationDate;
+
+    @Column(name = "objectCount", nullable = false)
+    private long objectCount;
+
+    @Column(name = "sizeBytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "region")
+    private String region;
+
+    @Column(name = "addedBytes", nullable = false)
+    private long addedBytes;
+
+    @Column(name = "removedBytes", nullable = false)
+    private long removedBytes;
+
+    @Column(name = "changedBytes", nullable = false)
+    private long changedBytes;
+
+    @Column(name = "asOf")
+    private OffsetDateTime asOf;
+
+    // Set when the bucket could not be read; its counts are then zero
+    @Column(name = "error", length = 1000)
+    private String error;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getSnapshotId() {
+        return snapshotId;
+    }
+
+    public void setSnapshotId(UUID snapshotId) {
+        this.snapshotId = snapshotId;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public void setBucketName(String bucketName) {
+        this.bucketName = bucketName;
+    }
+
+    public String getCreationDate() {
+        return creationDate;
+    }
+
+    public void setCreationDate(String creationDate) {
+        this.creationDate = creationDate;
+    }
+
+    public long getObjectCount() {
+        return objectCount;
+    }
+
+    public void setObjectCount(long objectCount) {
+        this.objectCount = objectCount;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public long getAddedBytes() {
+        return addedBytes;
+    }
+
+    public void setAddedBytes(long addedBytes) {
+        this.addedBytes = addedBytes;
+    }
+
+    public long getRemovedBytes() {
+        return removedBytes;
+    }
+
+    public void setRemovedBytes(long removedBytes) {
+        this.removedBytes = removedBytes;
+    }
+
+    public long getChangedBytes() {
+        return changedBytes;
+    }
+
+    public void setChangedBytes(long changedBytes) {
+        this.changedBytes = changedBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public OffsetDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(OffsetDateTime asOf) {
+        this.asOf = asOf;
+    }
+}
@@ -0,0 +1,27 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface S3BucketSnapshotRepository extends JpaRepository<S3BucketSnapshot, UUID> {
+
+    List<S3BucketSnapshot> findBySnapshotIdOrderByBucketName(UUID snapshotId);
+
+    /**
+     * Deletes the bucket rows of snapshots collected before {@code cutoff}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from s3bucket_snapshots
+            where snapshot_id in (select id from s3metrics_snapshots where collected_at < :cutoff)
+            """, nativeQuery = true)
+    int deleteCollectedBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
@@ -0,0 +1,452 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadspace.backend.integration.aws.AwsS3Service.S3BucketInfo;
+import com.threadspace.backend.integration.core.SingleFlight;
+
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.Bucket;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Incremental bucket scans driven by per-prefix state from the previous run.
+ *
+ * Each bucket is split into its top-level prefixes. A prefix whose ETag digest
+ * has not changed for several scans is re-listed only every
+ * 2^unchangedScans scans (capped at
+ * {@code threadspace.aws.s3.incremental.max-relist-interval}) and its stored
+ * totals are carried forward in between; prefixes that changed recently are
+ * re-listed every time. A bucket with more than
+ * {@code threadspace.aws.s3.incremental.max-prefixes} top-level prefixes would
+ * cost more requests listed prefix by prefix than in one pass, so from then on
+ * it is tracked as a single unit.
+ *
+ * S3 keeps no per-key history, so byte deltas are derived from the
+ * LastModified watermark of the previous listing: {@code addedBytes} is the
+ * size of objects written since then (new keys and overwrites),
+ * {@code removedBytes} is what the previous listing held that is gone now
+ * (deleted keys and overwritten versions), and {@code changedBytes} is the net
+ * difference. A bucket's first scan, or its first after switching to
+ * single-pass listing, has no baseline and reports no deltas.
+ *
+ * Concurrent scans of one integration share a single run. Only scheduled
+ * scans count towards a skipped prefix's re-list interval, so on-demand scans
+ * do not change how often it is listed. State rows are upserted by bucket and
+ * prefix, so scans from different nodes overwrite rather than duplicate.
+ */
+@Component
+public class S3IncrementalScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(S3IncrementalScanner.class);
+
+    private static final String ROOT_PREFIX = "";
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final S3BucketScanner bucketScanner;
+    private final S3RegionResolver regionResolver;
+    private final S3BucketScanStateRepository bucketStateRepository;
+    private final S3PrefixScanStateRepository prefixStateRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SingleFlight<UUID, List<S3BucketInfo>> inFlight = new SingleFlight<>();
+    private final int maxRelistInterval;
+    private final int maxPrefixes;
+
+    public S3IncrementalScanner(S3BucketScanner bucketScanner,
+            S3RegionResolver regionResolver,
+            S3BucketScanStateRepository bucketStateRepository,
+            S3PrefixScanStateRepository prefixStateRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${threadspace.aws.s3.incremental.max-relist-interval:8}") int maxRelistInterval,
+            @Value("${threadspace.aws.s3.incremental.max-prefixes:100}") int maxPrefixes) {
+        this.bucketScanner = bucketScanner;
+        this.regionResolver = regionResolver;
+        this.bucketStateRepository = bucketStateRepository;
+        this.prefixStateRepository = prefixStateRepository;
+        this.maxRelistInterval = Math.max(1, maxRelistInterval);
+        this.maxPrefixes = Math.max(1, maxPrefixes);
+
+        // State is written even when called from a read-only service method
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Scans the buckets. {@code scheduled} is true for periodic collection and
+     * false for scans a user asked for.
+     */
+    public List<S3BucketInfo> scan(AwsConnection connection, List<Bucket> buckets, boolean scheduled) {
+        return inFlight.execute(connection.integrationId(), () -> run(connection, buckets, scheduled));
+    }
+
+    private List<S3BucketInfo> run(AwsConnection connection, List<Bucket> buckets, boolean scheduled) {
+        UUID integrationId = connection.integrationId();
+        Map<String, S3BucketScanState> bucketStates = new HashMap<>();
+        for (S3BucketScanState state : bucketStateRepository.findByIntegrationId(integrationId)) {
+            bucketStates.put(state.getBucketName(), state);
+        }
+
+        Map<String, Map<String, S3PrefixScanState>> prefixStates = new HashMap<>();
+        for (S3PrefixScanState state : prefixStateRepository.findByIntegrationId(integrationId)) {
+            prefixStates.computeIfAbsent(state.getBucketName(), name -> new HashMap<>())
+                    .put(state.getPrefix(), state);
+        }
+
+        OffsetDateTime scanAt = OffsetDateTime.now();
+        List<BucketScan> scans = bucketScanner
+                .scanBuckets(buckets, bucket -> regionResolver.route(connection, bucket)
+                        .thenCompose(routed -> scanBucket(routed.client(), integrationId, bucket,
+                                routed.region(), bucketStates.get(bucket.name()),
+                                prefixStates.getOrDefault(bucket.name(), Map.of()), scanAt, scheduled)))
+                .join();
+
+        transactionTemplate.executeWithoutResult(
+                status -> persist(integrationId, scans, bucketStates, scanAt));
+
+        return scans.stream().map(BucketScan::toInfo).toList();
+    }
+
+    private CompletableFuture<BucketScan> scanBucket(S3AsyncClient client, UUID integrationId, Bucket bucket,
+            String region, S3BucketScanState bucketState, Map<String, S3PrefixScanState> previous,
+            OffsetDateTime scanAt, boolean scheduled) {
+        BucketScan scan = new BucketScan(integrationId, bucket, region, previous, scanAt, bucketState != null,
+                scheduled);
+        scan.listedWhole = bucketState != null && bucketState.isListedWhole();
+        CompletableFuture<Void> listing = scan.listedWhole
+                ? scanWhole(client, scan)
+                : scanByPrefix(client, scan);
+
+        return listing
+                .thenRun(scan::finish)
+                .handle((v, error) -> {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause()
+                                : error;
+                        log.warn("Could not get details for bucket {}: {}", bucket.name(), cause.getMessage());
+                        scan.error = cause.getMessage() != null ? cause.getMessage() : cause.toString();
+                    }
+                    return scan;
+                });
+    }
+
+    private CompletableFuture<Void> scanByPrefix(S3AsyncClient client, BucketScan scan) {
+        PrefixListing root = new PrefixListing(scan.previous.get(ROOT_PREFIX));
+        List<String> prefixes = new ArrayList<>();
+
+        // One delimited listing yields the root objects and the top-level prefixes
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(scan.bucket.name())
+                .delimiter("/")
+                .build();
+
+        return client.listObjectsV2Paginator(request)
+                .subscribe(page -> {
+                    page.contents().forEach(root::add);
+                    for (CommonPrefix prefix : page.commonPrefixes()) {
+                        prefixes.add(prefix.prefix());
+                    }
+                })
+                .thenCompose(v -> {
+                    if (prefixes.size() > maxPrefixes) {
+                        scan.switchToWhole();
+                        return scanWhole(client, scan);
+                    }
+                    scan.record(ROOT_PREFIX, root);
+                    return scanPrefixes(client, scan, prefixes.iterator());
+                });
+    }
+
+    /**
+     * Lists the whole bucket in one pass, kept under the root prefix's state.
+     */
+    private CompletableFuture<Void> scanWhole(S3AsyncClient client, BucketScan scan) {
+        S3PrefixScanState state = scan.previous.get(ROOT_PREFIX);
+        if (scan.baseline && state != null && !dueForRelist(state)) {
+            scan.carryOver(state);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        PrefixListing listing = new PrefixListing(state);
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(scan.bucket.name())
+                .build();
+
+        return client.listObjectsV2Paginator(request)
+                .subscribe(page -> page.contents().forEach(listing::add))
+                .thenRun(() -> scan.record(ROOT_PREFIX, listing));
+    }
+
+    private CompletableFuture<Void> scanPrefixes(S3AsyncClient client, BucketScan scan, Iterator<String> prefixes) {
+        while (prefixes.hasNext()) {
+            String prefix = prefixes.next();
+            S3PrefixScanState state = scan.previous.get(prefix);
+            if (state != null && !dueForRelist(state)) {
+                scan.carryOver(state);
+                continue;
+            }
+
+            PrefixListing listing = new PrefixListing(state);
+            ListObjectsV2Request request = ListObjectsV2Request.builder()
+                    .bucket(scan.bucket.name())
+                    .prefix(prefix)
+                    .build();
+
+            return client.listObjectsV2Paginator(request)
+                    .subscribe(page -> page.contents().forEach(listing::add))
+                    .thenCompose(v -> {
+                        scan.record(prefix, listing);
+                        return scanPrefixes(client, scan, prefixes);
+                    });
+        }
+        return CompletableFuture.completedFuture(null);
+    }
+
+    private boolean dueForRelist(S3PrefixScanState state) {
+        int interval = Math.min(1 << Math.min(state.getUnchangedScans(), 16), maxRelistInterval);
+        return state.getSkippedScans() + 1 >= interval;
+    }
+
+    private void persist(UUID integrationId, List<BucketScan> scans, Map<String, S3BucketScanState> bucketStates,
+            OffsetDateTime scanAt) {
+        Set<String> seen = new HashSet<>();
+        for (BucketScan scan : scans) {
+            seen.add(scan.bucket.name());
+            if (scan.error != null) {
+                // Keep the previous state so the next scan diffs against it
+                continue;
+            }
+
+            for (S3PrefixScanState state : scan.current.values()) {
+                prefixStateRepository.upsert(integrationId, state.getBucketName(), state.getPrefix(),
+                        state.getObjectCount(), state.getSizeBytes(), state.getEtagDigest(),
+                        state.getLastModifiedWatermark(), state.getLastListedAt(), state.getUnchangedScans(),
+                        state.getSkippedScans());
+            }
+            for (S3PrefixScanState state : scan.removedPrefixes()) {
+                prefixStateRepository.deleteByKey(integrationId, state.getBucketName(), state.getPrefix());
+            }
+
+            bucketStateRepository.upsert(integrationId, scan.bucket.name(), scanAt, scan.listedWhole,
+                    scan.objectCount(), scan.sizeBytes(),
+                    scan.baseline ? scan.addedBytes : 0,
+                    scan.baseline ? scan.removedBytes : 0,
+                    scan.baseline ? scan.changedBytes : 0);
+        }
+
+        // Buckets that no longer exist
+        for (String bucketName : bucketStates.keySet()) {
+            if (!seen.contains(bucketName)) {
+                bucketStateRepository.deleteByBucket(integrationId, bucketName);
+                prefixStateRepository.deleteByBucket(integrationId, bucketName);
+            }
+        }
+    }
+
+    private static long mix(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+            }
+        }
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    /**
+     * Running totals for a single listing of one prefix.
+     */
+    private static final class PrefixListing {
+
+        private final Instant previousWatermark;
+
+        private long objectCount;
+        private long sizeBytes;
+        private long digest = FNV_OFFSET_BASIS;
+        private long freshBytes;
+        private Instant watermark;
+
+        private PrefixListing(S3PrefixScanState previous) {
+            this.previousWatermark = previous != null && previous.getLastModifiedWatermark() != null
+                    ? previous.getLastModifiedWatermark().toInstant()
+                    : null;
+        }
+
+        private void add(S3Object object) {
+            long size = object.size() != null ? object.size() : 0;
+            objectCount++;
+            sizeBytes += size;
+            digest = mix(mix(mix(digest, object.key()), object.eTag()), Long.toString(size));
+
+            Instant lastModified = object.lastModified();
+            if (lastModified == null || previousWatermark == null || lastModified.isAfter(previousWatermark)) {
+                freshBytes += size;
+            }
+            if (lastModified != null && (watermark == null || lastModified.isAfter(watermark))) {
+                watermark = lastModified;
+            }
+        }
+    }
+
+    /**
+     * Per-bucket accumulator; all mutation happens on one listing chain.
+     */
+    private static final class BucketScan {
+
+        private final UUID integrationId;
+        private final Bucket bucket;
+        private final String region;
+        private final Map<String, S3PrefixScanState> previous;
+        private final OffsetDateTime scanAt;
+        private final Map<String, S3PrefixScanState> current = new HashMap<>();
+
+        private final boolean scheduled;
+
+        // False when there is no comparable previous scan to diff against
+        private boolean baseline;
+        private boolean listedWhole;
+        private String error;
+        private long addedBytes;
+        private long removedBytes;
+        private long changedBytes;
+
+        private BucketScan(UUID integrationId, Bucket bucket, String region,
+                Map<String, S3PrefixScanState> previous, OffsetDateTime scanAt, boolean baseline,
+                boolean scheduled) {
+            this.integrationId = integrationId;
+            this.bucket = bucket;
+            this.region = region;
+            this.previous = previous;
+            this.scanAt = scanAt;
+            this.baseline = baseline;
+            this.scheduled = scheduled;
+        }
+
+        private void switchToWhole() {
+            listedWhole = true;
+            baseline = false;
+        }
+
+        private void record(String prefix, PrefixListing listing) {
+            S3PrefixScanState state = previous.get(prefix);
+            boolean known = baseline && state != null;
+            long previousSize = known ? state.getSizeBytes() : 0;
+            if (state == null) {
+                state = new S3PrefixScanState();
+                state.setIntegrationId(integrationId);
+                state.setBucketName(bucket.name());
+                state.setPrefix(prefix);
+            }
+
+            boolean unchanged = known
+                    && state.getEtagDigest() == listing.digest
+                    && state.getObjectCount() == listing.objectCount
+                    && previousSize == listing.sizeBytes;
+
+            if (unchanged) {
+                state.setUnchangedScans(state.getUnchangedScans() + 1);
+            } else {
+                state.setUnchangedScans(0);
+                if (baseline) {
+                    addedBytes += listing.freshBytes;
+                    removedBytes += Math.max(0, previousSize - (listing.sizeBytes - listing.freshBytes));
+                    changedBytes += listing.sizeBytes - previousSize;
+                }
+            }
+
+            state.setObjectCount(listing.objectCount);
+            state.setSizeBytes(listing.sizeBytes);
+            state.setEtagDigest(listing.digest);
+            state.setLastModifiedWatermark(listing.watermark != null
+                    ? listing.watermark.atOffset(ZoneOffset.UTC)
+                    : state.getLastModifiedWatermark());
+            state.setLastListedAt(scanAt);
+            state.setSkippedScans(0);
+            current.put(prefix, state);
+        }
+
+        private void carryOver(S3PrefixScanState state) {
+            if (scheduled) {
+                state.setSkippedScans(state.getSkippedScans() + 1);
+            }
+            current.put(state.getPrefix(), state);
+        }
+
+        /**
+         * Accounts for prefixes that disappeared since the previous scan.
+         */
+        private void finish() {
+            if (!baseline) {
+                return;
+            }
+            for (S3PrefixScanState state : removedPrefixes()) {
+                removedBytes += state.getSizeBytes();
+                changedBytes -= state.getSizeBytes();
+            }
+        }
+
+        private List<S3PrefixScanState> removedPrefixes() {
+            List<S3PrefixScanState> removed = new ArrayList<>();
+            for (S3PrefixScanState state : previous.values()) {
+                if (!current.containsKey(state.getPrefix())) {
+                    removed.add(state);
+                }
+            }
+            return removed;
+        }
+
+        private long objectCount() {
+            return current.values().stream().mapToLong(S3PrefixScanState::getObjectCount).sum();
+        }
+
+        private long sizeBytes() {
+            return current.values().stream().mapToLong(S3PrefixScanState::getSizeBytes).sum();
+        }
+
+        private OffsetDateTime asOf() {
+            return current.values().stream()
+                    .map(S3PrefixScanState::getLastListedAt)
+                    .min(OffsetDateTime::compareTo)
+                    .orElse(scanAt);
+        }
+
+        private S3BucketInfo toInfo() {
+            if (error != null) {
+                return S3BucketInfo.failed(bucket, region, error);
+            }
+            return new S3BucketInfo(
+                    bucket.name(),
+                    bucket.creationDate() != null ? bucket.creationDate().toString() : "",
+                    objectCount(),
+                    sizeBytes(),
+                    region,
+                    baseline ? addedBytes : 0,
+                    baseline ? removedBytes : 0,
+                    baseline ? changedBytes : 0,
+                    asOf(),
+                    null);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.threadspace.backend.integration.aws;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams S3 Inventory reports into an {@link S3PrefixAggregator}.
+ *
+ * Only CSV reports are read; the ORC and Parquet formats would need the
+ * Hadoop-based readers, which this service does not ship. Rows are parsed one
+ * line at a time from the gzipped data files, and only current, non-delete-
+ * marker versions are counted so totals match a ListObjectsV2 scan.
+ */
+@Component
+public class S3InventoryReader {
+
+    private final ObjectMapper objectMapper;
+
+    public S3InventoryReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public static boolean isSupported(String fileFormat) {
+        return "CSV".equalsIgnoreCase(fileFormat);
+    }
+
+    public InventoryManifest readManifest(InputStream manifest) throws IOException {
+        return objectMapper.readValue(manifest, InventoryManifest.class);
+    }
+
+    /**
+     * Feeds every object listed in the manifest's data files to the aggregator.
+     * {@code files} opens a data file by its key in the destination bucket.
+     */
+    public void aggregate(InventoryManifest manifest, InventoryFileOpener files, S3PrefixAggregator aggregator)
+            throws IOException {
+        if (!isSupported(manifest.fileFormat())) {
+            throw new UnsupportedOperationException(
+                    "S3 Inventory format " + manifest.fileFormat() + " is not supported; configure CSV");
+        }
+
+        Columns columns = Columns.of(manifest.fileSchema());
+        for (InventoryFile file : manifest.files()) {
+            try (InputStream raw = files.open(file.key());
+                    InputStream in = file.key().endsWith(".gz") ? new GZIPInputStream(raw) : raw;
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.isEmpty()) {
+                        addRow(parseCsvLine(line), columns, aggregator);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addRow(List<String> row, Columns columns, S3PrefixAggregator aggregator) {
+        if (columns.isLatest >= 0 && !"true".equalsIgnoreCase(row.get(columns.isLatest))) {
+            return;
+        }
+        if (columns.isDeleteMarker >= 0 && "true".equalsIgnoreCase(row.get(columns.isDeleteMarker))) {
+            return;
+        }
+
+        String key = decodeKey(row.get(columns.key));
+        String size = columns.size >= 0 ? row.get(columns.size) : "";
+        String storageClass = columns.storageClass >= 0 ? row.get(columns.storageClass) : null;
+
+        aggregator.add(key, size.isEmpty() ? 0 : Long.parseLong(size), storageClass);
+    }
+
+    /**
+     * Inventory keys are percent-encoded per RFC 3986. Unlike form decoding, a
+     * literal '+' stays a '+'.
+     */
+    static String decodeKey(String encoded) {
+        if (encoded.indexOf('%') < 0) {
+            return encoded;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(encoded.length());
+        for (int i = 0; i < encoded.length(); i++) {
+            char c = encoded.charAt(i);
+            if (c == '%' && i + 2 < encoded.length()) {
+                int high = Character.digit(encoded.charAt(i + 1), 16);
+                int low = Character.digit(encoded.charAt(i + 2), 16);
+                if (high >= 0 && low >= 0) {
+                    bytes.write((high << 4) + low);
+                    i += 2;
+                    continue;
+                }
+            }
+            int codePoint = encoded.codePointAt(i);
+            byte[] raw = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+            bytes.write(raw, 0, raw.length);
+            i += Character.charCount(codePoint) - 1;
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @FunctionalInterface
+    public interface InventoryFileOpener {
+        InputStream open(String key) throws IOException;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record InventoryManifest(
+            String sourceBucket,
+            String destinationBucket,
+            String fileFormat,
+            String fileSchema,
+            List<InventoryFile> files) {
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public record InventoryFile(
+            String key,
+            long size) {
+    }
+
+    private record Columns(int key, int size, int storageClass, int isLatest, int isDeleteMarker) {
+
+        static Columns of(String fileSchema) {
+            if (fileSchema == null) {
+                throw new IllegalStateException("S3 Inventory manifest has no fileSchema");
+            }
+
+            List<String> names = new ArrayList<>();
+            for (String name : fileSchema.split(",")) {
+                names.add(name.trim().toLowerCase(Locale.ROOT));
+            }
+            if (!names.contains("key")) {
+                throw new IllegalStateException("S3 Inventory schema has no Key column");
+            }
+
+            return new Columns(
+                    names.indexOf("key"),
+                    names.indexOf("size"),
+                    names.indexOf("storageclass"),
+                    names.indexOf("islatest"),
+                    names.indexOf("isdeletemarker"));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.threadspace.backend.integration.aws;
+
+import java.io.ByteArrayInputStream;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.threadspace.backend.integration.aws.S3InventoryReader.InventoryManifest;
+import com.threadspace.backend.integration.aws.S3RegionResolver.RoutedBucket;
+
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.Bucket;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.InventoryConfiguration;
+import software.amazon.awssdk.services.s3.model.InventoryFormat;
+import software.amazon.awssdk.services.s3.model.InventoryS3BucketDestination;
+import software.amazon.awssdk.services.s3.model.ListBucketInventoryConfigurationsRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+
+/**
+ * Reads a bucket's totals from its latest S3 Inventory report instead of
+ * listing it.
+ *
+ * The bucket's first enabled CSV inventory configuration is used; buckets
+ * with only ORC or Parquet inventories are listed instead. Reports are
+ * delivered as {@code <prefix>/<source-bucket>/<config-id>/<timestamp>/manifest.json};
+ * the newest timestamp is read. Parsing data files is blocking I/O, so it runs
+ * on its own pool of {@code threadspace.aws.s3.inventory.parse-threads}
+ * threads rather than one shared with other async work.
+ */
+@Component
+public class S3InventorySource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(S3InventorySource.class);
+
+    private static final Pattern REPORT_FOLDER = Pattern.compile(".*/\\d{4}-\\d{2}-\\d{2}T\\d{2}-\\d{2}Z/$");
+
+    private final S3RegionResolver regionResolver;
+    private final S3InventoryReader inventoryReader;
+    private final ExecutorService executor;
+
+    public S3InventorySource(S3RegionResolver regionResolver,
+            S3InventoryReader inventoryReader,
+            @Value("${threadspace.aws.s3.inventory.parse-threads:2}") int parseThreads) {
+        this.regionResolver = regionResolver;
+        this.inventoryReader = inventoryReader;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parseThreads), task -> {
+            Thread thread = new Thread(task, "s3-inventory-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Aggregates the bucket from its inventory into a fresh aggregator. Completes
+     * empty when the bucket has no usable inventory, so the caller can fall back
+     * to a listing.
+     */
+    public CompletableFuture<Optional<S3PrefixAggregator>> aggregate(AwsConnection connection, RoutedBucket source,
+            Supplier<S3PrefixAggregator> aggregators) {
+        String sourceBucket = source.bucket().name();
+
+        return findCsvConfiguration(source.client(), sourceBucket, null)
+                .thenCompose(config -> config
+                        .map(found -> readLatestReport(connection, sourceBucket, found, aggregators))
+                        .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty())))
+                .exceptionally(error -> {
+                    log.warn("Could not read S3 Inventory for bucket {}, listing instead: {}", sourceBucket,
+                            error.getMessage());
+                    return Optional.empty();
+                });
+    }
+
+    /**
+     * The first enabled CSV configuration, following continuation tokens
+     * until one is found or the list ends.
+     */
+    private CompletableFuture<Optional<InventoryConfiguration>> findCsvConfiguration(S3AsyncClient client,
+            String bucket, String continuationToken) {
+        return client.listBucketInventoryConfigurations(ListBucketInventoryConfigurationsRequest.builder()
+                        .bucket(bucket)
+                        .continuationToken(continuationToken)
+                        .build())
+                .thenCompose(response -> {
+                    Optional<InventoryConfiguration> found = response.inventoryConfigurationList().stream()
+                            .filter(InventoryConfiguration::isEnabled)
+                            .filter(config -> config.destination().s3BucketDestination().format()
+                                    == InventoryFormat.CSV)
+                            .findFirst();
+                    if (found.isPresent() || !Boolean.TRUE.equals(response.isTruncated())
+                            || response.nextContinuationToken() == null) {
+                        return CompletableFuture.completedFuture(found);
+                    }
+                    return findCsvConfiguration(client, bucket, response.nextContinuationToken());
+                });
+    }
+
+    private CompletableFuture<Optional<S3PrefixAggregator>> readLatestReport(AwsConnection connection,
+            String sourceBucket, InventoryConfiguration config, Supplier<S3PrefixAggregator> aggregators) {
+        InventoryS3BucketDestination destination = config.destination().s3BucketDestination();
+        String destinationBucket = destination.bucket().substring(destination.bucket().lastIndexOf(':') + 1);
+        String destinationPrefix = destination.prefix() == null || destination.prefix().isBlank()
+                ? ""
+                : destination.prefix().endsWith("/") ? destination.prefix() : destination.prefix() + "/";
+        String reportRoot = destinationPrefix + sourceBucket + "/" + config.id() + "/";
+
+        return regionResolver.route(connection, Bucket.builder().name(destinationBucket).build())
+                .thenCompose(routed -> findLatestReport(routed.client(), destinationBucket, reportRoot)
+                        .thenCompose(folder -> folder
+                                .map(prefix -> readReport(routed.client(), destinationBucket,
+                                        prefix + "manifest.json", aggregators))
+                                .orElseGet(() -> CompletableFuture.completedFuture(Optional.empty()))));
+    }
+
+    private CompletableFuture<Optional<String>> findLatestReport(S3AsyncClient client, String bucket,
+            String reportRoot) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder()
+                .bucket(bucket)
+                .prefix(reportRoot)
+                .delimiter("/")
+                .build();
+
+        // Report folders are timestamps and listings come back in key order, so
+        // the last folder on the last page that has one is the newest. Daily
+        // reports outgrow a single 1000-entry page within a few years.
+        AtomicReference<String> latest = new AtomicReference<>();
+        return client.listObjectsV2Paginator(request)
+                .subscribe(page -> page.commonPrefixes().stream()
+                        .map(CommonPrefix::prefix)
+                        .filter(prefix -> REPORT_FOLDER.matcher(prefix).matches())
+                        .max(Comparator.naturalOrder())
+                        .ifPresent(latest::set))
+                .thenApply(v -> Optional.ofNullable(latest.get()));
+    }
+
+    private CompletableFuture<Optional<S3PrefixAggregator>> readReport(S3AsyncClient client, String bucket,
+            String manifestKey, Supplier<S3PrefixAggregator> aggregators) {
+        return client.getObject(GetObjectRequest.builder().bucket(bucket).key(manifestKey).build(),
+                AsyncResponseTransformer.toBytes())
+                .thenApplyAsync(manifestBytes -> {
+                    try {
+                        InventoryManifest manifest = inventoryReader
+                                .readManifest(new ByteArrayInputStream(manifestBytes.asByteArray()));
+                        if (!S3InventoryReader.isSupported(manifest.fileFormat())) {
+                            log.info("S3 Inventory report {} is {}, listing instead", manifestKey,
+                                    manifest.fileFormat());
+                            return Optional.<S3PrefixAggregator>empty();
+                        }
+                        S3PrefixAggregator aggregator = aggregators.get();
+                        inventoryReader.aggregate(manifest,
+                                key -> client.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build(),
+                                        AsyncResponseTransformer.toBlockingInputStream()).join(),
+                                aggregator);
+                        return Optional.of(aggregator);
+                    } catch (Exception e) {
+                        throw new IllegalStateException("Failed to read S3 Inventory report " + manifestKey, e);
+                    }
+                }, executor);
+    }
+}
@@ -0,0 +1,97 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Per-integration S3 totals from one background collection.
+ */
+@Entity
+@Table(name = "s3MetricsSnapshots")
+public class S3MetricsSnapshot {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "integrationId", nullable = false)
+    private UUID integrationId;
+
+    @Column(name = "projectId", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "collectedAt", nullable = false)
+    private OffsetDateTime collectedAt;
+
+    @Column(name = "totalBuckets", nullable = false)
+    private int totalBuckets;
+
+    @Column(name = "totalObjects", nullable = false)
+    private long totalObjects;
+
+    @Column(name = "totalStorageBytes", nullable = false)
+    private long totalStorageBytes;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getIntegrationId() {
+        return integrationId;
+    }
+
+    public void setIntegrationId(UUID integrationId) {
+        this.integrationId = integrationId;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public OffsetDateTime getCollectedAt() {
+        return collectedAt;
+    }
+
+    public void setCollectedAt(OffsetDateTime collectedAt) {
+        this.collectedAt = collectedAt;
+    }
+
+    public int getTotalBuckets() {
+        return totalBuckets;
+    }
+
+    public void setTotalBuckets(int totalBuckets) {
+        this.totalBuckets = totalBuckets;
+    }
+
+    public long getTotalObjects() {
+        return totalObjects;
+    }
+
+    public void setTotalObjects(long totalObjects) {
+        this.totalObjects = totalObjects;
+    }
+
+    public long getTotalStorageBytes() {
+        return totalStorageBytes;
+    }
+
+    public void setTotalStorageBytes(long totalStorageBytes) {
+        this.totalStorageBytes = totalStorageBytes;
+    }
+}
@@ -0,0 +1,25 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface S3MetricsSnapshotRepository extends JpaRepository<S3MetricsSnapshot, UUID> {
+
+    Optional<S3MetricsSnapshot> findFirstByIntegrationIdOrderByCollectedAtDesc(UUID integrationId);
+
+    /**
+     * Deletes snapshots collected before {@code cutoff}. Delete their bucket
+     * rows first with {@link S3BucketSnapshotRepository#deleteCollectedBefore}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "delete from s3metrics_snapshots where collected_at < :cutoff", nativeQuery = true)
+    int deleteCollectedBefore(@Param("cutoff") OffsetDateTime cutoff);
+}
@@ -0,0 +1,157 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadspace.backend.integration.aws.AwsS3Service.S3BucketInfo;
+import com.threadspace.backend.integration.aws.AwsS3Service.S3Metrics;
+import com.threadspace.backend.integration.core.Integration;
+import com.threadspace.backend.integration.core.IntegrationSyncCoordinator;
+import com.threadspace.backend.integration.core.IntegrationSyncFence;
+import com.threadspace.backend.integration.core.SingleFlight;
+
+/**
+ * Collects S3 metrics in the background and serves them from stored
+ * snapshots instead of listing buckets live.
+ */
+@Service
+public class S3MetricsSnapshotService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final AwsS3Service awsS3Service;
+    private final S3MetricsSnapshotRepository snapshotRepository;
+    private final S3BucketSnapshotRepository bucketSnapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final IntegrationSyncCoordinator coordinator;
+    private final long retentionDays;
+
+    private final SingleFlight<UUID, S3MetricsSnapshot> inFlight = new SingleFlight<>();
+
+    public S3MetricsSnapshotService(AwsS3Service awsS3Service,
+            S3MetricsSnapshotRepository snapshotRepository,
+            S3BucketSnapshotRepository bucketSnapshotRepository,
+            TransactionTemplate transactionTemplate,
+            IntegrationSyncCoordinator coordinator,
+            @Value("${threadspace.aws.s3.snapshot-retention-days:30}") long retentionDays) {
+        this.awsS3Service = awsS3Service;
+        this.snapshotRepository = snapshotRepository;
+        this.bucketSnapshotRepository = bucketSnapshotRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.coordinator = coordinator;
+        this.retentionDays = retentionDays;
+    }
+
+    /**
+     * Returns the latest stored metrics for the project, collecting a new
+     * snapshot first when {@code refresh} is set or none exists yet.
+     */
+    public S3Metrics getS3Metrics(UUID projectId, boolean refresh) {
+        AwsConnection connection = awsS3Service.getAwsConnection(projectId);
+
+        S3MetricsSnapshot snapshot = refresh
+                ? null
+                : snapshotRepository.findFirstByIntegrationIdOrderByCollectedAtDesc(connection.integrationId())
+                        .orElse(null);
+        if (snapshot == null) {
+            snapshot = collect(connection, projectId, IntegrationSyncFence.NONE);
+        }
+
+        List<S3BucketInfo> buckets = bucketSnapshotRepository
+                .findBySnapshotIdOrderByBucketName(snapshot.getId())
+                .stream()
+                .map(bucket -> new S3BucketInfo(
+                        bucket.getBucketName(),
+                        bucket.getCreationDate(),
+                        bucket.getObjectCount(),
+                        bucket.getSizeBytes(),
+                        bucket.getRegion(),
+                        bucket.getAddedBytes(),
+                        bucket.getRemovedBytes(),
+                        bucket.getChangedBytes(),
+                        bucket.getAsOf(),
+                        bucket.getError()))
+                .toList();
+
+        return AwsS3Service.summarize(buckets, snapshot.getCollectedAt());
+    }
+
+    @Scheduled(fixedDelayString = "${threadspace.aws.s3.prune-interval-ms:3600000}")
+    public void pruneExpired() {
+        // One replica is enough
+        if (!coordinator.isLeader()) {
+            return;
+        }
+        pruneSnapshots(OffsetDateTime.now().minusDays(retentionDays));
+    }
+
+    /**
+     * Scans the integration's buckets and stores the result as a new snapshot,
+     * unless {@code fence} shows the sync's lease has been taken over.
+     */
+    public S3MetricsSnapshot collect(Integration integration, IntegrationSyncFence fence) {
+        return collect(awsS3Service.getAwsConnection(integration), integration.getProjectId(), fence);
+    }
+
+    private S3MetricsSnapshot collect(AwsConnection connection, UUID projectId, IntegrationSyncFence fence) {
+        return inFlight.execute(connection.integrationId(), () -> {
+            List<S3BucketInfo> buckets = awsS3Service.getS3Buckets(connection);
+            return transactionTemplate.execute(status -> {
+                fence.check();
+                return save(connection.integrationId(), projectId, buckets);
+            });
+        });
+    }
+
+    private S3MetricsSnapshot save(UUID integrationId, UUID projectId, List<S3BucketInfo> buckets) {
+        S3Metrics totals = AwsS3Service.summarize(buckets, OffsetDateTime.now());
+
+        S3MetricsSnapshot snapshot = new S3MetricsSnapshot();
+        snapshot.setIntegrationId(integrationId);
+        snapshot.setProjectId(projectId);
+        snapshot.setCollectedAt(totals.collectedAt());
+        snapshot.setTotalBuckets(totals.totalBuckets());
+        snapshot.setTotalObjects(totals.totalObjects());
+        snapshot.setTotalStorageBytes(buckets.stream()
+                .filter(info -> info.error() == null)
+                .mapToLong(S3BucketInfo::sizeBytes)
+                .sum());
+        snapshot = snapshotRepository.save(snapshot);
+
+        for (S3BucketInfo info : buckets) {
+            S3BucketSnapshot bucket = new S3BucketSnapshot();
+            bucket.setSnapshotId(snapshot.getId());
+            bucket.setBucketName(info.name());
+            bucket.setCreationDate(info.creationDate());
+            bucket.setObjectCount(info.objectCount());
+            bucket.setSizeBytes(info.sizeBytes());
+            bucket.setRegion(info.region());
+            bucket.setAddedBytes(info.addedBytes());
+            bucket.setRemovedBytes(info.removedBytes());
+            bucket.setChangedBytes(info.changedBytes());
+            bucket.setAsOf(info.asOf());
+            bucket.setError(truncate(info.error()));
+            bucketSnapshotRepository.save(bucket);
+        }
+
+        return snapshot;
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private void pruneSnapshots(OffsetDateTime cutoff) {
+        // Two set-based deletes, without loading the expired rows
+        transactionTemplate.executeWithoutResult(status -> {
+            bucketSnapshotRepository.deleteCollectedBefore(cutoff);
+            snapshotRepository.deleteCollectedBefore(cutoff);
+        });
+    }
+}
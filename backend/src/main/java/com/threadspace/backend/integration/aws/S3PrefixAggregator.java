@@ -0,0 +1,178 @@
+package com.threadspace.backend.integration.aws;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import software.amazon.awssdk.services.s3.model.ObjectStorageClass;
+
+/**
+ * Streaming roll-up of object sizes into a prefix tree, split by storage class.
+ *
+ * Objects are consumed one at a time and never retained. Each tree node keeps
+ * primitive counters indexed by storage class, so memory grows with the number
+ * of distinct prefixes up to {@code depth}, not with the number of keys. Once
+ * {@code maxPrefixes} nodes exist, objects under new prefixes are counted at
+ * their deepest existing ancestor and the result is flagged as truncated.
+ *
+ * Not thread-safe; feed it from a single listing.
+ */
+public class S3PrefixAggregator {
+
+    private static final ObjectStorageClass[] STORAGE_CLASSES = ObjectStorageClass.values();
+
+    private final int depth;
+    private final int maxPrefixes;
+    private final Node root = new Node("");
+
+    private int prefixCount;
+    private boolean truncated;
+
+    public S3PrefixAggregator(int depth, int maxPrefixes) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth must not be negative");
+        }
+        this.depth = depth;
+        this.maxPrefixes = maxPrefixes;
+    }
+
+    public void add(String key, long size, String storageClass) {
+        int storageClassIndex = storageClassIndex(storageClass);
+        Node node = root;
+        node.add(size, storageClassIndex);
+
+        int start = 0;
+        for (int level = 0; level < depth; level++) {
+            int slash = key.indexOf('/', start);
+            if (slash < 0) {
+                break;
+            }
+
+            String prefix = key.substring(0, slash + 1);
+            Node child = node.children != null ? node.children.get(prefix) : null;
+            if (child == null) {
+                if (prefixCount >= maxPrefixes) {
+                    truncated = true;
+                    break;
+                }
+                child = node.addChild(prefix);
+                prefixCount++;
+            }
+
+            child.add(size, storageClassIndex);
+            node = child;
+            start = slash + 1;
+        }
+    }
+
+    public long objectCount() {
+        return root.objectCount;
+    }
+
+    public long sizeBytes() {
+        return root.sizeBytes;
+    }
+
+    public S3BucketBreakdown toBreakdown(String bucket, String region) {
+        PrefixTotal totals = root.toTotal();
+        return new S3BucketBreakdown(
+                bucket,
+                region,
+                depth,
+                totals.objectCount(),
+                totals.sizeBytes(),
+                totals.storageClasses(),
+                totals.prefixes(),
+                truncated);
+    }
+
+    private static int storageClassIndex(String storageClass) {
+        // Listings omit the class for STANDARD objects
+        if (storageClass == null || storageClass.isBlank()) {
+            return ObjectStorageClass.STANDARD.ordinal();
+        }
+        return ObjectStorageClass.fromValue(storageClass).ordinal();
+    }
+
+    private static String storageClassName(ObjectStorageClass storageClass) {
+        return storageClass == ObjectStorageClass.UNKNOWN_TO_SDK_VERSION ? "UNKNOWN" : storageClass.toString();
+    }
+
+    private static final class Node {
+
+        private final String prefix;
+        private final long[] objectsByClass = new long[STORAGE_CLASSES.length];
+        private final long[] bytesByClass = new long[STORAGE_CLASSES.length];
+        private long objectCount;
+        private long sizeBytes;
+        private Map<String, Node> children;
+
+        private Node(String prefix) {
+            this.prefix = prefix;
+        }
+
+        private void add(long size, int storageClassIndex) {
+            objectCount++;
+            sizeBytes += size;
+            objectsByClass[storageClassIndex]++;
+            bytesByClass[storageClassIndex] += size;
+        }
+
+        private Node addChild(String childPrefix) {
+            if (children == null) {
+                children = new HashMap<>();
+            }
+            Node child = new Node(childPrefix);
+            children.put(childPrefix, child);
+            return child;
+        }
+
+        private PrefixTotal toTotal() {
+            List<StorageClassTotal> storageClasses = new ArrayList<>();
+            for (int i = 0; i < STORAGE_CLASSES.length; i++) {
+                if (objectsByClass[i] > 0) {
+                    storageClasses.add(new StorageClassTotal(storageClassName(STORAGE_CLASSES[i]),
+                            objectsByClass[i], bytesByClass[i]));
+                }
+            }
+            storageClasses.sort(Comparator.comparingLong(StorageClassTotal::sizeBytes).reversed());
+
+            List<PrefixTotal> prefixes = new ArrayList<>();
+            if (children != null) {
+                for (Node child : children.values()) {
+                    prefixes.add(child.toTotal());
+                }
+                prefixes.sort(Comparator.comparingLong(PrefixTotal::sizeBytes).reversed());
+            }
+
+            return new PrefixTotal(prefix, objectCount, sizeBytes, storageClasses, prefixes);
+        }
+    }
+
+    public record S3BucketBreakdown(
+            String bucket,
+            String region,
+            int depth,
+            long objectCount,
+            long sizeBytes,
+            List<StorageClassTotal> storageClasses,
+            List<PrefixTotal> prefixes,
+            boolean truncated) {
+    }
+
+    public record PrefixTotal(
+            String prefix,
+            long objectCount,
+            long sizeBytes,
+            List<StorageClassTotal> storageClasses,
+            List<PrefixTotal> prefixes) {
+    }
+
+    public record StorageClassTotal(
+            String storageClass,
+            long objectCount,
+            long sizeBytes) {
+    }
+}
@@ -0,0 +1,144 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Totals and change watermarks for one top-level prefix of a bucket. The empty
+ * prefix holds the objects stored at the bucket root.
+ */
+@Entity
+@Table(name = "s3PrefixScanStates")
+public class S3PrefixScanState {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "integrationId", nullable = false)
+    private UUID integrationId;
+
+    @Column(name = "bucketName", nullable = false)
+    private String bucketName;
+
+    // S3 keys, and so prefixes, can be up to 1024 bytes
+    @Column(name = "prefix", nullable = false, length = 1024)
+    private String prefix;
+
+    @Column(name = "objectCount", nullable = false)
+    private long objectCount;
+
+    @Column(name = "sizeBytes", nullable = false)
+    private long sizeBytes;
+
+    // Rolling hash over (key, ETag, size) of every object, in listing order
+    @Column(name = "etagDigest", nullable = false)
+    private long etagDigest;
+
+    @Column(name = "lastModifiedWatermark")
+    private OffsetDateTime lastModifiedWatermark;
+
+    @Column(name = "lastListedAt", nullable = false)
+    private OffsetDateTime lastListedAt;
+
+    @Column(name = "unchangedScans", nullable = false)
+    private int unchangedScans;
+
+    @Column(name = "skippedScans", nullable = false)
+    private int skippedScans;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getIntegrationId() {
+        return integrationId;
+    }
+
+    public void setIntegrationId(UUID integrationId) {
+        this.integrationId = integrationId;
+    }
+
+    public String getBucketName() {
+        return bucketName;
+    }
+
+    public void setBucketName(String bucketName) {
+        this.bucketName = bucketName;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public long getObjectCount() {
+        return objectCount;
+    }
+
+    public void setObjectCount(long objectCount) {
+        this.objectCount = objectCount;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public long getEtagDigest() {
+        return etagDigest;
+    }
+
+    public void setEtagDigest(long etagDigest) {
+        this.etagDigest = etagDigest;
+    }
+
+    public OffsetDateTime getLastModifiedWatermark() {
+        return lastModifiedWatermark;
+    }
+
+    public void setLastModifiedWatermark(OffsetDateTime lastModifiedWatermark) {
+        this.lastModifiedWatermark = lastModifiedWatermark;
+    }
+
+    public OffsetDateTime getLastListedAt() {
+        return lastListedAt;
+    }
+
+    public void setLastListedAt(OffsetDateTime lastListedAt) {
+        this.lastListedAt = lastListedAt;
+    }
+
+    public int getUnchangedScans() {
+        return unchangedScans;
+    }
+
+    public void setUnchangedScans(int unchangedScans) {
+        this.unchangedScans = unchangedScans;
+    }
+
+    public int getSkippedScans() {
+        return skippedScans;
+    }
+
+    public void setSkippedScans(int skippedScans) {
+        this.skippedScans = skippedScans;
+    }
+}
@@ -0,0 +1,63 @@
+package com.threadspace.backend.integration.aws;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface S3PrefixScanStateRepository extends JpaRepository<S3PrefixScanState, UUID> {
+
+    List<S3PrefixScanState> findByIntegrationId(UUID integrationId);
+
+    /**
+     * Writes the prefix's state, replacing whatever another scan stored for the
+     * same prefix.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into s3prefix_scan_states (id, integration_id, bucket_name, prefix, object_count, size_bytes,
+                    etag_digest, last_modified_watermark, last_listed_at, unchanged_scans, skipped_scans)
+            values (gen_random_uuid(), :integrationId, :bucketName, :prefix, :objectCount, :sizeBytes,
+                    :etagDigest, :lastModifiedWatermark, :lastListedAt, :unchangedScans, :skippedScans)
+            on conflict (integration_id, bucket_name, prefix) do update set
+                object_count = excluded.object_count,
+                size_bytes = excluded.size_bytes,
+                etag_digest = excluded.etag_digest,
+                last_modified_watermark = excluded.last_modified_watermark,
+                last_listed_at = excluded.last_listed_at,
+                unchanged_scans = excluded.unchanged_scans,
+                skipped_scans = excluded.skipped_scans
+            """, nativeQuery = true)
+    int upsert(@Param("integrationId") UUID integrationId,
+            @Param("bucketName") String bucketName,
+            @Param("prefix") String prefix,
+            @Param("objectCount") long objectCount,
+            @Param("sizeBytes") long sizeBytes,
+            @Param("etagDigest") long etagDigest,
+            @Param("lastModifiedWatermark") OffsetDateTime lastModifiedWatermark,
+            @Param("lastListedAt") OffsetDateTime lastListedAt,
+            @Param("unchangedScans") int unchangedScans,
+            @Param("skippedScans") int skippedScans);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from s3prefix_scan_states
+            where integration_id = :integrationId and bucket_name = :bucketName and prefix = :prefix
+            """, nativeQuery = true)
+    int deleteByKey(@Param("integrationId") UUID integrationId,
+            @Param("bucketName") String bucketName,
+            @Param("prefix") String prefix);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from s3prefix_scan_states where integration_id = :integrationId and bucket_name = :bucketName",
+            nativeQuery = true)
+    int deleteByBucket(@Param("integrationId") UUID integrationId, @Param("bucketName") String bucketName);
+}
@@ -0,0 +1,88 @@
+package com.threadspace.backend.integration.aws;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.threadspace.backend.integration.core.LruCache;
+
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.Bucket;
+import software.amazon.awssdk.services.s3.model.GetBucketLocationRequest;
+
+/**
+ * Resolves the region each bucket lives in and routes S3 calls to a client
+ * for that region, so cross-region buckets are not reached through redirects.
+ *
+ * GetBucketLocation is called once per bucket name (bucket names are global)
+ * and the result is kept in an LRU cache; concurrent lookups for the same bucket share one
+ * call. A bucket whose location cannot be read falls back to the
+ * integration's configured region and is looked up again next time.
+ */
+@Component
+public class S3RegionResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(S3RegionResolver.class);
+
+    private final AwsClientRegistry clientRegistry;
+    private final LruCache<String, CompletableFuture<String>> regions;
+
+    public S3RegionResolver(AwsClientRegistry clientRegistry,
+            @Value("${threadspace.aws.s3.region-cache.max-entries:10000}") int maxEntries) {
+        this.clientRegistry = clientRegistry;
+        this.regions = new LruCache<>(maxEntries);
+    }
+
+    public CompletableFuture<RoutedBucket> route(AwsConnection connection, Bucket bucket) {
+        return resolveRegion(connection, bucket.name())
+                .thenApply(region -> new RoutedBucket(bucket, region, clientRegistry.s3(connection, region)));
+    }
+
+    public CompletableFuture<String> resolveRegion(AwsConnection connection, String bucketName) {
+        String homeRegion = connection.credentials().region();
+
+        CompletableFuture<String> lookup = new CompletableFuture<>();
+        CompletableFuture<String> cached = regions.computeIfAbsent(bucketName, name -> lookup);
+        if (cached != lookup) {
+            return cached.exceptionally(error -> homeRegion);
+        }
+
+        S3AsyncClient homeClient = clientRegistry.s3(connection);
+        homeClient.getBucketLocation(GetBucketLocationRequest.builder().bucket(bucketName).build())
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        log.warn("Could not resolve region for bucket {}, using {}: {}", bucketName, homeRegion,
+                                error.getMessage());
+                        regions.remove(bucketName, lookup);
+                        lookup.completeExceptionally(error);
+                    } else {
+                        lookup.complete(normalize(response.locationConstraintAsString()));
+                    }
+                });
+
+        return lookup.exceptionally(error -> homeRegion);
+    }
+
+    /**
+     * GetBucketLocation reports us-east-1 as an empty constraint and eu-west-1
+     * by its legacy name.
+     */
+    static String normalize(String locationConstraint) {
+        if (locationConstraint == null || locationConstraint.isBlank()) {
+            return "us-east-1";
+        }
+        if ("EU".equals(locationConstraint)) {
+            return "eu-west-1";
+        }
+        return locationConstraint;
+    }
+
+    public record RoutedBucket(
+            Bucket bucket,
+            String region,
+            S3AsyncClient client) {
+    }
+}
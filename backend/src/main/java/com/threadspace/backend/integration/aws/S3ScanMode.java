@@ -0,0 +1,6 @@
+package com.threadspace.backend.integration.aws;
+
+public enum S3ScanMode {
+    FULL,
+    INCREMENTAL
+}
@@ -35,6 +35,17 @@ public class Integration {
     @Column(name = "status", nullable = false)
     private IntegrationStatus integrationStatus;
 
+    // Why the last verification failed, if it did
+    @Column(name = "statusDetail", length = 500)
+    private String statusDetail;
+
+    // Failed attempts at a verification that will be retried, and when the next is due
+    @Column(name = "verificationAttempts", nullable = false)
+    private int verificationAttempts;
+
+    @Column(name = "nextVerificationAt")
+    private OffsetDateTime nextVerificationAt;
+
     @Column(name = "displayName", nullable = false)
     private String displayName;
 
@@ -59,6 +70,16 @@ public class Integration {
         this.updatedAt = now;
     }
 
+    // Back to PENDING with a fresh verification, which is due right away
+    public void requestVerification() {
+        OffsetDateTime now = OffsetDateTime.now();
+        this.integrationStatus = IntegrationStatus.PENDING;
+        this.statusDetail = null;
+        this.verificationAttempts = 0;
+        this.nextVerificationAt = now;
+        this.updatedAt = now;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -91,6 +112,14 @@ public class Integration {
         this.integrationStatus = integrationStatus;
     }
 
+    public String getStatusDetail() {
+        return statusDetail;
+    }
+
+    public void setStatusDetail(String statusDetail) {
+        this.statusDetail = statusDetail;
+    }
+
     public String getDisplayName() {
         return displayName;
     }
@@ -115,4 +144,19 @@ public class Integration {
         this.updatedAt = updatedAt;
     }
 
+    public int getVerificationAttempts() {
+        return verificationAttempts;
+    }
+
+    public void setVerificationAttempts(int verificationAttempts) {
+        this.verificationAttempts = verificationAttempts;
+    }
+
+    public OffsetDateTime getNextVerificationAt() {
+        return nextVerificationAt;
+    }
+
+    public void setNextVerificationAt(OffsetDateTime nextVerificationAt) {
+        this.nextVerificationAt = nextVerificationAt;
+    }
 }
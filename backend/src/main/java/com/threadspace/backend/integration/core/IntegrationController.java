@@ -56,6 +56,7 @@ public class IntegrationController {
                 integration.getProjectId(),
                 integration.getIntegrationType(),
                 integration.getIntegrationStatus(),
+                integration.getStatusDetail(),
                 integration.getDisplayName(),
                 integration.getCreatedAt(),
                 integration.getUpdatedAt());
@@ -84,6 +85,7 @@ public class IntegrationController {
                 integration.getProjectId(),
                 integration.getIntegrationType(),
                 integration.getIntegrationStatus(),
+                integration.getStatusDetail(),
                 integration.getDisplayName(),
                 integration.getCreatedAt(),
                 integration.getUpdatedAt());
@@ -111,6 +113,7 @@ public class IntegrationController {
                 integration.getProjectId(),
                 integration.getIntegrationType(),
                 integration.getIntegrationStatus(),
+                integration.getStatusDetail(),
                 integration.getDisplayName(),
                 integration.getCreatedAt(),
                 integration.getUpdatedAt());
@@ -149,6 +152,7 @@ public class IntegrationController {
                         integration.getProjectId(),
                         integration.getIntegrationType(),
                         integration.getIntegrationStatus(),
+                        integration.getStatusDetail(),
                         integration.getDisplayName(),
                         integration.getCreatedAt(),
                         integration.getUpdatedAt()))
@@ -27,6 +27,7 @@ public class IntegrationDtos {
                         UUID projectId,
                         IntegrationType integrationType,
                         IntegrationStatus status,
+                        String statusDetail,
                         String displayName,
                         OffsetDateTime createdAt,
                         OffsetDateTime updatedAt) {
@@ -1,6 +1,7 @@
 package com.threadspace.backend.integration.core;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface IntegrationProvider {
@@ -15,4 +16,20 @@ public interface IntegrationProvider {
             Map<String, String> credentials);
 
     Map<String, String> getDisplayCredentials(UUID projectId);
+
+    /**
+     * Checks the integration's stored credentials against the provider.
+     * Throws {@link IllegalArgumentException} if the provider rejects them, and
+     * any other exception for failures worth retrying, such as timeouts or
+     * rate limits. Called outside any transaction.
+     */
+    void verify(Integration integration);
+
+    /**
+     * Work {@link IntegrationSyncScheduler} should run in the background for a
+     * CONNECTED integration, or empty if this provider only fetches on demand.
+     */
+    default Optional<IntegrationSyncTask> createSyncTask(Integration integration) {
+        return Optional.empty();
+    }
 }
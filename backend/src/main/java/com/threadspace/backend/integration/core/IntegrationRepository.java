@@ -1,13 +1,151 @@
 package com.threadspace.backend.integration.core;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface IntegrationRepository extends JpaRepository<Integration, UUID> {
 
     List<Integration> findByProjectId(UUID projectId);
 
     List<Integration> findByProjectIdAndIntegrationType(UUID projectId, IntegrationType integrationType);
+
+    List<Integration> findByIntegrationStatus(IntegrationStatus integrationStatus);
+
+    List<Integration> findByIntegrationTypeAndIntegrationStatus(IntegrationType integrationType,
+            IntegrationStatus integrationStatus);
+
+    /**
+     * The project's integrations of the given type that have a secret, CONNECTED
+     * ones first, each with its secret.
+     */
+    @Query("""
+            select new com.threadspace.backend.integration.core.IntegrationWithSecret(i, s)
+            from Integration i join IntegrationSecret s on s.integrationId = i.id
+            where i.projectId = :projectId and i.integrationType = :type
+            order by case when i.integrationStatus = com.threadspace.backend.integration.core.IntegrationStatus.CONNECTED
+                then 0 else 1 end
+            """)
+    List<IntegrationWithSecret> findWithSecret(UUID projectId, IntegrationType type);
+
+    /**
+     * Every CONNECTED integration of the given type, each with its secret.
+     */
+    @Query("""
+            select new com.threadspace.backend.integration.core.IntegrationWithSecret(i, s)
+            from Integration i join IntegrationSecret s on s.integrationId = i.id
+            where i.integrationType = :type
+              and i.integrationStatus = com.threadspace.backend.integration.core.IntegrationStatus.CONNECTED
+            """)
+    List<IntegrationWithSecret> findConnectedWithSecret(IntegrationType type);
+
+    /**
+     * CONNECTED integrations whose next sync is due, soonest first.
+     */
+    @Query("""
+            select new com.threadspace.backend.integration.core.IntegrationWithSyncState(i, s)
+            from Integration i join IntegrationSyncState s on s.integrationId = i.id
+            where i.integrationStatus = com.threadspace.backend.integration.core.IntegrationStatus.CONNECTED
+              and s.nextRunAt <= :now
+            order by s.nextRunAt, s.integrationId
+            """)
+    List<IntegrationWithSyncState> findDueForSync(OffsetDateTime now, Limit limit);
+
+    /**
+     * The next page of {@link #findDueForSync}, after the row at
+     * ({@code afterRunAt}, {@code afterId}).
+     */
+    @Query("""
+            select new com.threadspace.backend.integration.core.IntegrationWithSyncState(i, s)
+            from Integration i join IntegrationSyncState s on s.integrationId = i.id
+            where i.integrationStatus = com.threadspace.backend.integration.core.IntegrationStatus.CONNECTED
+              and s.nextRunAt <= :now
+              and (s.nextRunAt > :afterRunAt or (s.nextRunAt = :afterRunAt and s.integrationId > :afterId))
+            order by s.nextRunAt, s.integrationId
+            """)
+    List<IntegrationWithSyncState> findDueForSyncAfter(OffsetDateTime now, OffsetDateTime afterRunAt, UUID afterId,
+            Limit limit);
+
+    /**
+     * CONNECTED integrations the sync scheduler has not seen yet.
+     */
+    @Query("""
+            select i from Integration i
+            where i.integrationStatus = com.threadspace.backend.integration.core.IntegrationStatus.CONNECTED
+              and not exists (select s.id from IntegrationSyncState s where s.integrationId = i.id)
+            """)
+    List<Integration> findConnectedWithoutSyncState(Limit limit);
+
+    /**
+     * PENDING integrations whose verification is due, skipping ones whose
+     * verification was requested after {@code requestedBefore} and may still
+     * be running from the request's own event.
+     */
+    @Query("""
+            select i from Integration i
+            where i.integrationStatus = com.threadspace.backend.integration.core.IntegrationStatus.PENDING
+              and i.nextVerificationAt <= :now
+              and i.updatedAt <= :requestedBefore
+            order by i.nextVerificationAt
+            """)
+    List<Integration> findDueForVerification(OffsetDateTime now, OffsetDateTime requestedBefore, Limit limit);
+
+    /**
+     * Takes the integration's next verification attempt by pushing its due
+     * time out by {@code leaseMillis}. Returns 0 if another node took it, or
+     * the row changed since {@code updatedAt} and {@code nextVerificationAt}
+     * were read.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update integrations
+            set next_verification_at = now() + :leaseMillis * interval '1 millisecond'
+            where id = :id and status = 'PENDING'
+              and updated_at = :updatedAt and next_verification_at = :nextVerificationAt
+            """, nativeQuery = true)
+    int claimVerification(@Param("id") UUID id,
+            @Param("updatedAt") OffsetDateTime updatedAt,
+            @Param("nextVerificationAt") OffsetDateTime nextVerificationAt,
+            @Param("leaseMillis") long leaseMillis);
+
+    /**
+     * Records a verification outcome, unless the credentials or status
+     * changed since {@code updatedAt} was read.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update integrations
+            set status = :status, status_detail = :detail, next_verification_at = null, updated_at = now()
+            where id = :id and status = 'PENDING' and updated_at = :updatedAt
+            """, nativeQuery = true)
+    int completeVerification(@Param("id") UUID id,
+            @Param("updatedAt") OffsetDateTime updatedAt,
+            @Param("status") String status,
+            @Param("detail") String detail);
+
+    /**
+     * Counts a failed attempt and schedules the next one, leaving the
+     * integration PENDING.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update integrations
+            set verification_attempts = verification_attempts + 1, status_detail = :detail,
+                next_verification_at = now() + :delayMillis * interval '1 millisecond'
+            where id = :id and status = 'PENDING' and updated_at = :updatedAt
+            """, nativeQuery = true)
+    int retryVerification(@Param("id") UUID id,
+            @Param("updatedAt") OffsetDateTime updatedAt,
+            @Param("detail") String detail,
+            @Param("delayMillis") long delayMillis);
 }
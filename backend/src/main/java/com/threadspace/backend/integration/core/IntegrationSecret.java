@@ -3,6 +3,9 @@ package com.threadspace.backend.integration.core;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import jakarta.persistence.*;
 
 @Entity
@@ -21,9 +24,9 @@ public class IntegrationSecret {
     @Column(name = "provider", nullable = false)
     private IntegrationType provider;
 
-    // JSON blob, contents depend on provider (Vercel, Stripe, Apple, ...)
-    @Lob
-    @Column(name = "secret_json", nullable = false)
+    // JSON document, contents depend on provider (Vercel, Stripe, Apple, ...)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "secret_json", nullable = false, columnDefinition = "jsonb")
     private String secretJson;
 
     @Column(name = "created_at", nullable = false, updatable = false)
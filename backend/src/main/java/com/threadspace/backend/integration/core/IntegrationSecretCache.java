@@ -0,0 +1,152 @@
+package com.threadspace.backend.integration.core;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * LRU cache of decoded integration secrets, keyed by project and type.
+ * Entries are evicted when credentials are saved or the status changes, before
+ * the asynchronous verifier runs, so it never reads replaced credentials.
+ * Those events are local, so entries also expire after a TTL to pick up
+ * changes made through other nodes.
+ */
+@Component
+public class IntegrationSecretCache {
+
+    private final IntegrationRepository integrationRepository;
+    private final ObjectMapper objectMapper;
+    private final LruCache<Key, Entry> entries;
+    private final long ttlNanos;
+    private long generation;
+
+    public IntegrationSecretCache(IntegrationRepository integrationRepository,
+            ObjectMapper objectMapper,
+            @Value("${threadspace.integrations.secret-cache.max-entries:1000}") int maxEntries,
+            @Value("${threadspace.integrations.secret-cache.ttl-ms:60000}") long ttlMillis) {
+        this.integrationRepository = integrationRepository;
+        this.objectMapper = objectMapper;
+        this.entries = new LruCache<>(maxEntries);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * The project's integration of the given type, preferring a CONNECTED one,
+     * with its secret decoded as {@code payloadType}.
+     */
+    public <T> DecodedSecret<T> get(UUID projectId, IntegrationType type, Class<T> payloadType) {
+        Key key = new Key(projectId, type);
+        Entry cached;
+        long loadGeneration;
+        synchronized (this) {
+            cached = entries.get(key);
+            loadGeneration = generation;
+        }
+        long now = System.nanoTime();
+        if (cached != null && now - cached.loadedAt() < ttlNanos
+                && payloadType.isInstance(cached.secret().payload())) {
+            return cast(cached.secret(), payloadType);
+        }
+
+        DecodedSecret<T> loaded = load(projectId, type, payloadType);
+        synchronized (this) {
+            // Skip caching if an invalidation ran while this was loading
+            if (generation == loadGeneration) {
+                entries.put(key, new Entry(loaded, now));
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * The given integration's secret. Served from the cache when it is the
+     * project's preferred integration of its type, otherwise read directly.
+     */
+    public <T> DecodedSecret<T> get(Integration integration, Class<T> payloadType) {
+        DecodedSecret<T> secret = get(integration.getProjectId(), integration.getIntegrationType(), payloadType);
+        if (secret.integrationId().equals(integration.getId())) {
+            return secret;
+        }
+        return integrationRepository.findWithSecret(integration.getProjectId(), integration.getIntegrationType())
+                .stream()
+                .filter(found -> found.integration().getId().equals(integration.getId()))
+                .findFirst()
+                .map(found -> decode(found, payloadType))
+                .orElseThrow(() -> new IllegalStateException("No secret found for integration"));
+    }
+
+    public synchronized void invalidate(UUID projectId, IntegrationType type) {
+        generation++;
+        entries.remove(new Key(projectId, type));
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVerificationRequested(IntegrationVerificationRequested event) {
+        invalidate(event.projectId(), event.integrationType());
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStatusChanged(IntegrationStatusChanged event) {
+        invalidate(event.projectId(), event.integrationType());
+    }
+
+    private <T> DecodedSecret<T> load(UUID projectId, IntegrationType type, Class<T> payloadType) {
+        IntegrationWithSecret found = integrationRepository.findWithSecret(projectId, type)
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No " + type + " integration found for project"));
+        return decode(found, payloadType);
+    }
+
+    private <T> DecodedSecret<T> decode(IntegrationWithSecret found, Class<T> payloadType) {
+        Integration integration = found.integration();
+        IntegrationSecret secret = found.secret();
+
+        T payload;
+        try {
+            payload = objectMapper.readValue(secret.getSecretJson(), payloadType);
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to parse " + integration.getIntegrationType() + " secrets", e);
+        }
+
+        return new DecodedSecret<>(
+                integration.getId(),
+                integration.getProjectId(),
+                integration.getIntegrationStatus(),
+                secret.getUpdatedAt().toInstant().toEpochMilli(),
+                payload);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> DecodedSecret<T> cast(DecodedSecret<?> secret, Class<T> payloadType) {
+        return (DecodedSecret<T>) secret;
+    }
+
+    private record Key(UUID projectId, IntegrationType type) {
+    }
+
+    private record Entry(DecodedSecret<?> secret, long loadedAt) {
+    }
+
+    /**
+     * A decoded secret and the integration it belongs to. {@code version} is
+     * the secret row's last update time in epoch millis.
+     */
+    public record DecodedSecret<T>(
+            UUID integrationId,
+            UUID projectId,
+            IntegrationStatus status,
+            long version,
+            T payload) {
+    }
+}
@@ -4,5 +4,6 @@ public enum IntegrationStatus {
     PENDING,
     CONNECTED,
     ERROR,
+    VERIFICATION_FAILED,
     REVOKED
 }
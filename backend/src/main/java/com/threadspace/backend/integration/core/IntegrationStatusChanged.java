@@ -0,0 +1,13 @@
+package com.threadspace.backend.integration.core;
+
+import java.util.UUID;
+
+/**
+ * Published after an integration's status has been updated.
+ */
+public record IntegrationStatusChanged(
+        UUID integrationId,
+        UUID projectId,
+        IntegrationType integrationType,
+        IntegrationStatus status) {
+}
@@ -0,0 +1,179 @@
+package com.threadspace.backend.integration.core;
+
+import java.net.InetAddress;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which backend replica runs each integration's background sync.
+ *
+ * Live nodes heartbeat into {@code sync_nodes} and integrations are spread over
+ * them by rendezvous hashing. The assigned node also claims a fenced lease row
+ * before each run, so only one node syncs an integration at a time even while
+ * nodes disagree on membership.
+ */
+@Component
+public class IntegrationSyncCoordinator implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(IntegrationSyncCoordinator.class);
+
+    private final SyncNodeRepository nodeRepository;
+    private final IntegrationSyncLeaseRepository leaseRepository;
+    private final String nodeId;
+    private final long nodeTimeoutMillis;
+    private final long leaseTtlMillis;
+
+    private volatile List<String> liveNodes;
+    private volatile long lastHeartbeatAt;
+
+    public IntegrationSyncCoordinator(SyncNodeRepository nodeRepository,
+            IntegrationSyncLeaseRepository leaseRepository,
+            @Value("${threadspace.sync.node-id:}") String nodeId,
+            @Value("${threadspace.sync.node-timeout-ms:15000}") long nodeTimeoutMillis,
+            @Value("${threadspace.sync.lease-ttl-ms:15000}") long leaseTtlMillis) {
+        this.nodeRepository = nodeRepository;
+        this.leaseRepository = leaseRepository;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+        this.nodeTimeoutMillis = nodeTimeoutMillis;
+        this.leaseTtlMillis = leaseTtlMillis;
+        this.liveNodes = List.of(this.nodeId);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Marks this node alive, extends its leases, forgets nodes that stopped
+     * heartbeating and refreshes the membership used for assignment.
+     */
+    @Scheduled(fixedDelayString = "${threadspace.sync.heartbeat-ms:5000}")
+    public void heartbeat() {
+        try {
+            nodeRepository.heartbeat(nodeId);
+            leaseRepository.renew(nodeId, leaseTtlMillis);
+            nodeRepository.deleteStale(nodeTimeoutMillis);
+
+            List<String> nodes = nodeRepository.findLiveNodeIds(nodeTimeoutMillis);
+            if (!nodes.equals(liveNodes)) {
+                log.info("Sync nodes changed: {}", nodes);
+            }
+            liveNodes = nodes.isEmpty() ? List.of(nodeId) : nodes;
+            lastHeartbeatAt = System.currentTimeMillis();
+        } catch (Exception e) {
+            log.warn("Sync heartbeat failed for node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether this node is the one that should sync the integration. A node
+     * whose heartbeats are failing assumes the others have taken over.
+     */
+    public boolean isAssigned(UUID integrationId) {
+        if (System.currentTimeMillis() - lastHeartbeatAt > nodeTimeoutMillis) {
+            return false;
+        }
+
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String node : liveNodes) {
+            long weight = weight(node, integrationId);
+            if (owner == null || weight > best) {
+                owner = node;
+                best = weight;
+            }
+        }
+        return nodeId.equals(owner);
+    }
+
+    /**
+     * Whether this node runs cluster-wide housekeeping: the live node with the
+     * lowest id, while its own heartbeats are succeeding.
+     */
+    public boolean isLeader() {
+        if (System.currentTimeMillis() - lastHeartbeatAt > nodeTimeoutMillis) {
+            return false;
+        }
+        return nodeId.equals(liveNodes.get(0));
+    }
+
+    /**
+     * Takes the integration's lease for this node, returning its fencing
+     * token, or nothing if another node holds an unexpired one.
+     */
+    public Optional<Long> claim(UUID integrationId) {
+        return leaseRepository.claim(integrationId, nodeId, leaseTtlMillis);
+    }
+
+    /**
+     * Whether the lease taken with {@code fence} is still current, extending
+     * it if so. A lease can lapse mid-sync while heartbeats are failing, and
+     * another node may have claimed it since.
+     */
+    public boolean confirm(UUID integrationId, long fence) {
+        return leaseRepository.extend(integrationId, fence, leaseTtlMillis) == 1;
+    }
+
+    /**
+     * Guards a sync's writes with the lease taken with {@code fence}, failing
+     * them once another claim has replaced it.
+     */
+    public IntegrationSyncFence fence(UUID integrationId, long fence) {
+        return () -> {
+            if (leaseRepository.lockIfCurrent(integrationId, fence).isEmpty()) {
+                throw new IllegalStateException("Lost the sync lease for integration " + integrationId);
+            }
+        };
+    }
+
+    public void release(UUID integrationId, long fence) {
+        try {
+            leaseRepository.release(integrationId, fence);
+        } catch (Exception e) {
+            // The lease lapses on its own once heartbeats stop extending it
+            log.warn("Could not release sync lease for integration {}: {}", integrationId, e.getMessage());
+        }
+    }
+
+    /**
+     * Hands this node's integrations over right away on a clean shutdown,
+     * instead of after the lease and node timeouts.
+     */
+    @Override
+    public void destroy() {
+        try {
+            leaseRepository.releaseAll(nodeId);
+            nodeRepository.deleteById(nodeId);
+        } catch (Exception e) {
+            log.warn("Could not deregister sync node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    // Stable across JVMs: String.hashCode is specified, and the mix is fixed
+    private static long weight(String node, UUID integrationId) {
+        long h = node.hashCode() * 0x9E3779B97F4A7C15L
+                ^ integrationId.getMostSignificantBits()
+                ^ Long.rotateLeft(integrationId.getLeastSignificantBits(), 32);
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
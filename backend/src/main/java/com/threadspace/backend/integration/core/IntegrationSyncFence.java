@@ -0,0 +1,19 @@
+package com.threadspace.backend.integration.core;
+
+/**
+ * Guards the writes of a background sync with the lease it runs under. Call
+ * {@link #check()} inside each write transaction, before writing: it locks the
+ * lease row while it still carries the sync's fencing token, so a node taking
+ * the lease over waits for those writes to commit, and throws once it has.
+ */
+@FunctionalInterface
+public interface IntegrationSyncFence {
+
+    /**
+     * For writes made outside a scheduled sync, such as on-demand refreshes.
+     */
+    IntegrationSyncFence NONE = () -> {
+    };
+
+    void check();
+}
@@ -0,0 +1,65 @@
+package com.threadspace.backend.integration.core;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Which node may run an integration's sync, until {@code expiresAt}. The
+ * owner keeps extending it while alive; once it lapses any node may claim it.
+ * {@code fence} changes with every claim, so a node can tell whether the lease
+ * it took is still the current one.
+ */
+@Entity
+@Table(name = "integrationSyncLeases")
+public class IntegrationSyncLease {
+
+    @Id
+    @Column(name = "integrationId")
+    private UUID integrationId;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "expiresAt", nullable = false)
+    private OffsetDateTime expiresAt;
+
+    @Column(name = "fence", nullable = false)
+    private long fence;
+
+    public UUID getIntegrationId() {
+        return integrationId;
+    }
+
+    public void setIntegrationId(UUID integrationId) {
+        this.integrationId = integrationId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public OffsetDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(OffsetDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public long getFence() {
+        return fence;
+    }
+
+    public void setFence(long fence) {
+        this.fence = fence;
+    }
+}
@@ -0,0 +1,86 @@
+package com.threadspace.backend.integration.core;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Per-integration sync leases. Every statement is a single row-level write, so
+ * concurrent claims from different nodes cannot both succeed.
+ */
+public interface IntegrationSyncLeaseRepository extends JpaRepository<IntegrationSyncLease, UUID> {
+
+    /**
+     * Takes the lease if it is free, expired or already ours, returning the
+     * new fencing token, or nothing if another node holds it.
+     */
+    @Transactional
+    @Query(value = """
+            insert into integration_sync_leases (integration_id, owner, expires_at, fence)
+            values (:integrationId, :owner, now() + :ttlMillis * interval '1 millisecond',
+                    nextval('integration_sync_lease_fence_seq'))
+            on conflict (integration_id) do update set
+                owner = excluded.owner,
+                expires_at = excluded.expires_at,
+                fence = excluded.fence
+            where integration_sync_leases.owner = excluded.owner
+               or integration_sync_leases.expires_at < now()
+            returning fence
+            """, nativeQuery = true)
+    Optional<Long> claim(@Param("integrationId") UUID integrationId,
+            @Param("owner") String owner,
+            @Param("ttlMillis") long ttlMillis);
+
+    /**
+     * Extends the lease only if it is still the one with this fencing token,
+     * returning 0 once another claim has replaced it.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update integration_sync_leases
+            set expires_at = now() + :ttlMillis * interval '1 millisecond'
+            where integration_id = :integrationId and fence = :fence
+            """, nativeQuery = true)
+    int extend(@Param("integrationId") UUID integrationId,
+            @Param("fence") long fence,
+            @Param("ttlMillis") long ttlMillis);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update integration_sync_leases
+            set expires_at = now() + :ttlMillis * interval '1 millisecond'
+            where owner = :owner
+            """, nativeQuery = true)
+    int renew(@Param("owner") String owner, @Param("ttlMillis") long ttlMillis);
+
+    /**
+     * Locks the lease against new claims until the caller's transaction ends,
+     * if it still carries this fencing token.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = """
+            select fence from integration_sync_leases
+            where integration_id = :integrationId and fence = :fence
+            for share
+            """, nativeQuery = true)
+    Optional<Long> lockIfCurrent(@Param("integrationId") UUID integrationId, @Param("fence") long fence);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from integration_sync_leases where integration_id = :integrationId and fence = :fence",
+            nativeQuery = true)
+    int release(@Param("integrationId") UUID integrationId, @Param("fence") long fence);
+
+    @Transactional
+    @Modifying
+    @Query(value = "delete from integration_sync_leases where owner = :owner", nativeQuery = true)
+    int releaseAll(@Param("owner") String owner);
+}
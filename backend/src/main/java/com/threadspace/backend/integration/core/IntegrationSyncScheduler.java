@@ -0,0 +1,228 @@
+package com.threadspace.backend.integration.core;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs each provider's background sync for CONNECTED integrations, bounded
+ * per provider, jittered, and backed off exponentially after failures.
+ */
+@Component
+public class IntegrationSyncScheduler implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(IntegrationSyncScheduler.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final IntegrationRepository integrationRepository;
+    private final IntegrationSyncStateRepository syncStateRepository;
+    private final IntegrationSyncCoordinator coordinator;
+    private final Map<IntegrationType, IntegrationProvider> providerByType;
+    private final Map<IntegrationType, Semaphore> permitsByType;
+    private final double jitter;
+    private final long failureBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int batchSize;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<UUID> running = ConcurrentHashMap.newKeySet();
+
+    public IntegrationSyncScheduler(IntegrationRepository integrationRepository,
+            IntegrationSyncStateRepository syncStateRepository,
+            IntegrationSyncCoordinator coordinator,
+            List<IntegrationProvider> providers,
+            @Value("${threadspace.sync.max-concurrent-per-provider:4}") int maxConcurrentPerProvider,
+            @Value("${threadspace.sync.jitter:0.1}") double jitter,
+            @Value("${threadspace.sync.failure-backoff-ms:60000}") long failureBackoffMillis,
+            @Value("${threadspace.sync.max-backoff-ms:3600000}") long maxBackoffMillis,
+            @Value("${threadspace.sync.dispatch-batch-size:500}") int batchSize) {
+        if (maxConcurrentPerProvider < 1) {
+            throw new IllegalArgumentException("threadspace.sync.max-concurrent-per-provider must be at least 1");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("threadspace.sync.dispatch-batch-size must be at least 1");
+        }
+        this.integrationRepository = integrationRepository;
+        this.syncStateRepository = syncStateRepository;
+        this.coordinator = coordinator;
+        this.providerByType = providers.stream().collect(Collectors.toMap(IntegrationProvider::getType, p -> p));
+        this.permitsByType = providers.stream().collect(Collectors.toMap(IntegrationProvider::getType,
+                p -> new Semaphore(maxConcurrentPerProvider)));
+        this.jitter = jitter;
+        this.failureBackoffMillis = failureBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts a sync for every due CONNECTED integration assigned to this node
+     * that is not already running. Only due rows are read, a page at a time.
+     */
+    @Scheduled(initialDelayString = "${threadspace.sync.initial-delay-ms:60000}",
+            fixedDelayString = "${threadspace.sync.poll-interval-ms:5000}")
+    public void dispatchDue() {
+        OffsetDateTime now = OffsetDateTime.now();
+        scheduleFirstRuns(now);
+
+        Limit page = Limit.of(batchSize);
+        List<IntegrationWithSyncState> due = integrationRepository.findDueForSync(now, page);
+        while (true) {
+            for (IntegrationWithSyncState row : due) {
+                dispatch(row.integration());
+            }
+            if (due.size() < batchSize) {
+                return;
+            }
+            // Rows assigned to other nodes stay due until they run, so page past them
+            IntegrationSyncState last = due.get(due.size() - 1).state();
+            due = integrationRepository.findDueForSyncAfter(now, last.getNextRunAt(), last.getIntegrationId(), page);
+        }
+    }
+
+    /**
+     * Gives newly CONNECTED integrations a first run time, spread out instead
+     * of all at once. Any node may do this, whichever one the sync is assigned to.
+     */
+    private void scheduleFirstRuns(OffsetDateTime now) {
+        for (Integration integration : integrationRepository.findConnectedWithoutSyncState(Limit.of(batchSize))) {
+            Optional<IntegrationSyncTask> task = createTask(integration);
+            if (task.isEmpty()) {
+                continue;
+            }
+            IntegrationSyncState state = new IntegrationSyncState();
+            state.setIntegrationId(integration.getId());
+            state.setNextRunAt(now.plus(randomDelay(task.get().interval())));
+            try {
+                syncStateRepository.save(state);
+            } catch (DataIntegrityViolationException e) {
+                // Another node created it first
+            }
+        }
+    }
+
+    private void dispatch(Integration integration) {
+        if (running.contains(integration.getId()) || !coordinator.isAssigned(integration.getId())) {
+            return;
+        }
+        Optional<IntegrationSyncTask> task = createTask(integration);
+        if (task.isPresent() && running.add(integration.getId())) {
+            executor.execute(() -> run(integration, task.get()));
+        }
+    }
+
+    private Optional<IntegrationSyncTask> createTask(Integration integration) {
+        IntegrationProvider provider = providerByType.get(integration.getIntegrationType());
+        return provider == null ? Optional.empty() : provider.createSyncTask(integration);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void run(Integration integration, IntegrationSyncTask task) {
+        Semaphore permits = permitsByType.get(integration.getIntegrationType());
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            running.remove(integration.getId());
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        Long fence = null;
+        try {
+            fence = coordinator.claim(integration.getId()).orElse(null);
+            if (fence == null) {
+                return;
+            }
+            // Re-read under the lease: another node may have just run it
+            IntegrationSyncState state = syncStateRepository.findByIntegrationId(integration.getId()).orElse(null);
+            if (state == null || state.getNextRunAt().isAfter(OffsetDateTime.now())) {
+                return;
+            }
+
+            state.setLastStartedAt(OffsetDateTime.now());
+            try {
+                task.sync().accept(coordinator.fence(integration.getId(), fence));
+                OffsetDateTime finished = OffsetDateTime.now();
+                state.setLastSuccessAt(finished);
+                state.setConsecutiveFailures(0);
+                state.setLastError(null);
+                state.setNextRunAt(finished.plus(jittered(task.interval())));
+            } catch (Exception e) {
+                int failures = state.getConsecutiveFailures() + 1;
+                log.warn("{} sync failed for integration {} ({} in a row): {}", integration.getIntegrationType(),
+                        integration.getId(), failures, e.getMessage());
+                OffsetDateTime finished = OffsetDateTime.now();
+                state.setLastFailureAt(finished);
+                state.setConsecutiveFailures(failures);
+                state.setLastError(truncate(e.getMessage()));
+                state.setNextRunAt(finished.plus(jittered(backoff(failures, task.interval()))));
+            }
+            int recorded = syncStateRepository.recordRun(integration.getId(), fence, state.getNextRunAt(),
+                    state.getLastStartedAt(), state.getLastSuccessAt(), state.getLastFailureAt(),
+                    state.getConsecutiveFailures(), state.getLastError());
+            if (recorded == 0) {
+                log.warn("Lost the sync lease for integration {} while it ran, not recording the result",
+                        integration.getId());
+            }
+        } catch (Exception e) {
+            log.warn("Sync bookkeeping failed for integration {}: {}", integration.getId(), e.getMessage());
+        } finally {
+            if (fence != null) {
+                coordinator.release(integration.getId(), fence);
+            }
+            permits.release();
+            running.remove(integration.getId());
+        }
+    }
+
+    /**
+     * Doubles from {@code threadspace.sync.failure-backoff-ms} with each
+     * consecutive failure, capped at the larger of the sync interval and
+     * {@code threadspace.sync.max-backoff-ms}.
+     */
+    private Duration backoff(int failures, Duration interval) {
+        long cap = Math.max(interval.toMillis(), maxBackoffMillis);
+        long delay = failureBackoffMillis << Math.min(failures - 1, 30);
+        return Duration.ofMillis(Math.min(delay, cap));
+    }
+
+    private Duration jittered(Duration delay) {
+        double factor = 1 + jitter * (ThreadLocalRandom.current().nextDouble() * 2 - 1);
+        return Duration.ofMillis(Math.max(0, (long) (delay.toMillis() * factor)));
+    }
+
+    private Duration randomDelay(Duration interval) {
+        long bound = (long) (interval.toMillis() * jitter);
+        return Duration.ofMillis(bound > 0 ? ThreadLocalRandom.current().nextLong(bound) : 0);
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
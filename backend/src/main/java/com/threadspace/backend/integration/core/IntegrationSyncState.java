@@ -0,0 +1,109 @@
+package com.threadspace.backend.integration.core;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Background sync bookkeeping for one integration: when it is next due, and
+ * how its recent runs went. {@code consecutiveFailures} drives the backoff.
+ */
+@Entity
+@Table(name = "integrationSyncStates")
+public class IntegrationSyncState {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "integrationId", nullable = false, unique = true)
+    private UUID integrationId;
+
+    @Column(name = "nextRunAt", nullable = false)
+    private OffsetDateTime nextRunAt;
+
+    @Column(name = "lastStartedAt")
+    private OffsetDateTime lastStartedAt;
+
+    @Column(name = "lastSuccessAt")
+    private OffsetDateTime lastSuccessAt;
+
+    @Column(name = "lastFailureAt")
+    private OffsetDateTime lastFailureAt;
+
+    @Column(name = "consecutiveFailures", nullable = false)
+    private int consecutiveFailures;
+
+    @Column(name = "lastError", length = 500)
+    private String lastError;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getIntegrationId() {
+        return integrationId;
+    }
+
+    public void setIntegrationId(UUID integrationId) {
+        this.integrationId = integrationId;
+    }
+
+    public OffsetDateTime getNextRunAt() {
+        return nextRunAt;
+    }
+
+    public void setNextRunAt(OffsetDateTime nextRunAt) {
+        this.nextRunAt = nextRunAt;
+    }
+
+    public OffsetDateTime getLastStartedAt() {
+        return lastStartedAt;
+    }
+
+    public void setLastStartedAt(OffsetDateTime lastStartedAt) {
+        this.lastStartedAt = lastStartedAt;
+    }
+
+    public OffsetDateTime getLastSuccessAt() {
+        return lastSuccessAt;
+    }
+
+    public void setLastSuccessAt(OffsetDateTime lastSuccessAt) {
+        this.lastSuccessAt = lastSuccessAt;
+    }
+
+    public OffsetDateTime getLastFailureAt() {
+        return lastFailureAt;
+    }
+
+    public void setLastFailureAt(OffsetDateTime lastFailureAt) {
+        this.lastFailureAt = lastFailureAt;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public void setConsecutiveFailures(int consecutiveFailures) {
+        this.consecutiveFailures = consecutiveFailures;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,49 @@
+package com.threadspace.backend.integration.core;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface IntegrationSyncStateRepository extends JpaRepository<IntegrationSyncState, UUID> {
+
+    Optional<IntegrationSyncState> findByIntegrationId(UUID integrationId);
+
+    List<IntegrationSyncState> findByIntegrationIdIn(Collection<UUID> integrationIds);
+
+    /**
+     * Records the outcome of a run only while the sync lease still carries
+     * {@code fence}, returning 0 once another claim has replaced it. The lease
+     * row is locked for the statement, so a concurrent claim waits for it.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            update integration_sync_states set
+                next_run_at = :nextRunAt,
+                last_started_at = cast(:lastStartedAt as timestamptz),
+                last_success_at = cast(:lastSuccessAt as timestamptz),
+                last_failure_at = cast(:lastFailureAt as timestamptz),
+                consecutive_failures = :consecutiveFailures,
+                last_error = cast(:lastError as varchar)
+            where integration_id = :integrationId
+              and exists (select 1 from integration_sync_leases
+                          where integration_id = :integrationId and fence = :fence
+                          for share)
+            """, nativeQuery = true)
+    int recordRun(@Param("integrationId") UUID integrationId,
+            @Param("fence") long fence,
+            @Param("nextRunAt") OffsetDateTime nextRunAt,
+            @Param("lastStartedAt") OffsetDateTime lastStartedAt,
+            @Param("lastSuccessAt") OffsetDateTime lastSuccessAt,
+            @Param("lastFailureAt") OffsetDateTime lastFailureAt,
+            @Param("consecutiveFailures") int consecutiveFailures,
+            @Param("lastError") String lastError);
+}
@@ -0,0 +1,13 @@
+package com.threadspace.backend.integration.core;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Background work a provider wants run for one integration every
+ * {@code interval}. {@code sync} fetches from the provider and stores the
+ * result, checking the fence it is given in each write transaction; it runs
+ * outside any transaction and signals failure by throwing.
+ */
+public record IntegrationSyncTask(Duration interval, Consumer<IntegrationSyncFence> sync) {
+}
@@ -0,0 +1,13 @@
+package com.threadspace.backend.integration.core;
+
+import java.util.UUID;
+
+/**
+ * Published when an integration's credentials have been saved and need to be
+ * checked against the provider. Handled after the saving transaction commits.
+ */
+public record IntegrationVerificationRequested(
+        UUID integrationId,
+        UUID projectId,
+        IntegrationType integrationType) {
+}
@@ -0,0 +1,149 @@
+package com.threadspace.backend.integration.core;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Verifies newly saved credentials off the request thread and outside any
+ * transaction, then moves the integration from PENDING to CONNECTED or
+ * VERIFICATION_FAILED. Failures worth retrying keep it PENDING and back off;
+ * the leader sweeps up retries and verifications a restart interrupted.
+ */
+@Component
+public class IntegrationVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(IntegrationVerifier.class);
+
+    private static final int MAX_DETAIL_LENGTH = 500;
+    private static final int SWEEP_BATCH_SIZE = 20;
+
+    private final IntegrationRepository integrationRepository;
+    private final Map<IntegrationType, IntegrationProvider> providerByType;
+    private final ApplicationEventPublisher eventPublisher;
+    private final IntegrationSyncCoordinator coordinator;
+    private final long staleAfterMillis;
+    private final long retryBackoffMillis;
+    private final long maxBackoffMillis;
+    private final int maxAttempts;
+
+    public IntegrationVerifier(IntegrationRepository integrationRepository, List<IntegrationProvider> providers,
+            ApplicationEventPublisher eventPublisher,
+            IntegrationSyncCoordinator coordinator,
+            @Value("${threadspace.integrations.verify.stale-after-ms:300000}") long staleAfterMillis,
+            @Value("${threadspace.integrations.verify.retry-backoff-ms:30000}") long retryBackoffMillis,
+            @Value("${threadspace.integrations.verify.max-backoff-ms:1800000}") long maxBackoffMillis,
+            @Value("${threadspace.integrations.verify.max-attempts:10}") int maxAttempts) {
+        this.integrationRepository = integrationRepository;
+        this.eventPublisher = eventPublisher;
+        this.coordinator = coordinator;
+        this.providerByType = providers.stream().collect(Collectors.toMap(IntegrationProvider::getType, p -> p));
+        this.staleAfterMillis = staleAfterMillis;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVerificationRequested(IntegrationVerificationRequested event) {
+        integrationRepository.findById(event.integrationId()).ifPresent(this::verify);
+    }
+
+    /**
+     * Runs verifications that are due: retries after transient failures, and
+     * requests whose own attempt never ran, e.g. because the node restarted.
+     */
+    @Scheduled(initialDelayString = "${threadspace.integrations.verify.sweep-initial-delay-ms:60000}",
+            fixedDelayString = "${threadspace.integrations.verify.sweep-interval-ms:30000}")
+    public void sweep() {
+        if (!coordinator.isLeader()) {
+            return;
+        }
+        OffsetDateTime now = OffsetDateTime.now();
+        for (Integration integration : integrationRepository.findDueForVerification(now,
+                now.minus(Duration.ofMillis(staleAfterMillis)), Limit.of(SWEEP_BATCH_SIZE))) {
+            try {
+                verify(integration);
+            } catch (Exception e) {
+                log.warn("Verification sweep failed for integration {}: {}", integration.getId(), e.getMessage());
+            }
+        }
+    }
+
+    void verify(Integration integration) {
+        if (integration.getIntegrationStatus() != IntegrationStatus.PENDING
+                || integration.getNextVerificationAt() == null) {
+            return;
+        }
+        IntegrationProvider provider = providerByType.get(integration.getIntegrationType());
+        if (provider == null) {
+            log.warn("No provider registered for type {}, cannot verify integration {}",
+                    integration.getIntegrationType(), integration.getId());
+            return;
+        }
+        // Only one node attempts it; an attempt that dies is picked up again once this lapses
+        if (integrationRepository.claimVerification(integration.getId(), integration.getUpdatedAt(),
+                integration.getNextVerificationAt(), staleAfterMillis) != 1) {
+            return;
+        }
+
+        IntegrationStatus status;
+        String detail;
+        try {
+            provider.verify(integration);
+            status = IntegrationStatus.CONNECTED;
+            detail = null;
+        } catch (IllegalArgumentException e) {
+            log.info("Verification failed for integration {}: {}", integration.getId(), e.getMessage());
+            status = IntegrationStatus.VERIFICATION_FAILED;
+            detail = truncate(e.getMessage());
+        } catch (Exception e) {
+            int attempts = integration.getVerificationAttempts() + 1;
+            if (attempts < maxAttempts) {
+                long delay = backoff(attempts);
+                log.info("Verification attempt {} for integration {} failed, retrying in {}ms: {}", attempts,
+                        integration.getId(), delay, e.getMessage());
+                integrationRepository.retryVerification(integration.getId(), integration.getUpdatedAt(),
+                        truncate(e.getMessage()), delay);
+                return;
+            }
+            log.info("Verification failed for integration {} after {} attempts: {}", integration.getId(), attempts,
+                    e.getMessage());
+            status = IntegrationStatus.VERIFICATION_FAILED;
+            detail = truncate(e.getMessage());
+        }
+
+        // Conditional on the row being unchanged, so newer credentials are never marked with this outcome
+        if (integrationRepository.completeVerification(integration.getId(), integration.getUpdatedAt(),
+                status.name(), detail) != 1) {
+            return;
+        }
+        eventPublisher.publishEvent(new IntegrationStatusChanged(integration.getId(), integration.getProjectId(),
+                integration.getIntegrationType(), status));
+    }
+
+    private long backoff(int attempts) {
+        return Math.min(retryBackoffMillis << Math.min(attempts - 1, 30), maxBackoffMillis);
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "Verification failed";
+        }
+        return message.length() <= MAX_DETAIL_LENGTH ? message : message.substring(0, MAX_DETAIL_LENGTH);
+    }
+}
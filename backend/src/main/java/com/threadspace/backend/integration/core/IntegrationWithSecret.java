@@ -0,0 +1,7 @@
+package com.threadspace.backend.integration.core;
+
+/**
+ * An integration and its stored secret, loaded together by one join.
+ */
+public record IntegrationWithSecret(Integration integration, IntegrationSecret secret) {
+}
@@ -0,0 +1,7 @@
+package com.threadspace.backend.integration.core;
+
+/**
+ * An integration and its background sync bookkeeping, loaded together by one join.
+ */
+public record IntegrationWithSyncState(Integration integration, IntegrationSyncState state) {
+}
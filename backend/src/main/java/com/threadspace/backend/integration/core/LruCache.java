@@ -0,0 +1,78 @@
+package com.threadspace.backend.integration.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Thread-safe map holding at most {@code maxEntries} entries, dropping the
+ * least recently used one when full. Reads and writes take a single lock, so
+ * keep values cheap to build in {@link #computeIfAbsent}.
+ */
+public class LruCache<K, V> {
+
+    private final int maxEntries;
+    private final LinkedHashMap<K, V> entries;
+    private final LongAdder evictions = new LongAdder();
+
+    public LruCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be at least 1");
+        }
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                if (size() <= LruCache.this.maxEntries) {
+                    return false;
+                }
+                evictions.increment();
+                return true;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public synchronized V computeIfAbsent(K key, Function<? super K, ? extends V> create) {
+        return entries.computeIfAbsent(key, create);
+    }
+
+    public synchronized V remove(K key) {
+        return entries.remove(key);
+    }
+
+    public synchronized boolean remove(K key, V value) {
+        return entries.remove(key, value);
+    }
+
+    /**
+     * Drops every entry matching {@code filter} and returns how many were
+     * dropped. Removals do not count as evictions.
+     */
+    public synchronized int removeIf(BiPredicate<? super K, ? super V> filter) {
+        int before = entries.size();
+        entries.entrySet().removeIf(entry -> filter.test(entry.getKey(), entry.getValue()));
+        return before - entries.size();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public int maxEntries() {
+        return maxEntries;
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,40 @@
+package com.threadspace.backend.integration.core;
+
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * A backend replica taking part in background sync, kept alive by its own
+ * heartbeats. Rows whose heartbeat has lapsed are deleted by the other nodes.
+ */
+@Entity
+@Table(name = "syncNodes")
+public class SyncNode {
+
+    @Id
+    @Column(name = "nodeId")
+    private String nodeId;
+
+    @Column(name = "heartbeatAt", nullable = false)
+    private OffsetDateTime heartbeatAt;
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public OffsetDateTime getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(OffsetDateTime heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+}
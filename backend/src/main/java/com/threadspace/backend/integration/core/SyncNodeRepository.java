@@ -0,0 +1,39 @@
+package com.threadspace.backend.integration.core;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Node liveness, timed by the database clock so replicas with skewed clocks
+ * still agree on who is alive.
+ */
+public interface SyncNodeRepository extends JpaRepository<SyncNode, String> {
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into sync_nodes (node_id, heartbeat_at) values (:nodeId, now())
+            on conflict (node_id) do update set heartbeat_at = now()
+            """, nativeQuery = true)
+    void heartbeat(@Param("nodeId") String nodeId);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            delete from sync_nodes
+            where heartbeat_at < now() - :timeoutMillis * interval '1 millisecond'
+            """, nativeQuery = true)
+    int deleteStale(@Param("timeoutMillis") long timeoutMillis);
+
+    @Query(value = """
+            select node_id from sync_nodes
+            where heartbeat_at >= now() - :timeoutMillis * interval '1 millisecond'
+            order by node_id
+            """, nativeQuery = true)
+    List<String> findLiveNodeIds(@Param("timeoutMillis") long timeoutMillis);
+}
@@ -0,0 +1,39 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Width of an analytics bucket. Buckets are aligned to UTC; weeks start on
+ * Monday.
+ */
+public enum RollupGranularity {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS),
+    WEEK(ChronoUnit.WEEKS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public long bucketStart(long epochMillis) {
+        ZonedDateTime time = Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC);
+        ZonedDateTime start = switch (this) {
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        };
+        return start.toInstant().toEpochMilli();
+    }
+
+    public long previousBucketStart(long bucketStart, int buckets) {
+        return Instant.ofEpochMilli(bucketStart).atZone(ZoneOffset.UTC).minus(buckets, unit)
+                .toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,72 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.threadspace.backend.integration.vercel.VercelDtos.ProjectSummary;
+
+/**
+ * Selectable parts of a {@link VercelDtos.ProjectSummary}. The project's own
+ * fields and its latest deployment come from the project lookup; the lists
+ * each cost one more upstream call.
+ */
+public enum SummaryField {
+    ID("id", ProjectSummary::id),
+    NAME("name", ProjectSummary::name),
+    FRAMEWORK("framework", ProjectSummary::framework),
+    REPO("repo", ProjectSummary::repo),
+    LATEST_DEPLOYMENT("latestDeployment", ProjectSummary::latestDeployment),
+    DOMAINS("domains", ProjectSummary::domains),
+    ENVS("envs", ProjectSummary::envs),
+    DEPLOYMENTS("deployments", ProjectSummary::deployments);
+
+    private final String key;
+    private final Function<ProjectSummary, Object> value;
+
+    SummaryField(String key, Function<ProjectSummary, Object> value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    /**
+     * The selected fields of the summary under their JSON names, nulls
+     * included, followed by {@code unavailable}.
+     */
+    public static Map<String, Object> select(ProjectSummary summary, Set<SummaryField> fields) {
+        Map<String, Object> selected = new LinkedHashMap<>();
+        for (SummaryField field : values()) {
+            if (fields.contains(field)) {
+                selected.put(field.key, field.value.apply(summary));
+            }
+        }
+        selected.put("unavailable", summary.unavailable());
+        return selected;
+    }
+
+    /**
+     * Parses a comma-separated {@code fields=} value such as
+     * {@code name,framework,latestDeployment}. Null or blank selects everything.
+     */
+    public static Set<SummaryField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(SummaryField.class);
+        }
+        Set<SummaryField> selected = EnumSet.noneOf(SummaryField.class);
+        for (String field : fields.split(",")) {
+            String name = field.trim().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            try {
+                selected.add(SummaryField.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown summary field: " + field.trim(), e);
+            }
+        }
+        return selected;
+    }
+}
@@ -0,0 +1,210 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.threadspace.backend.integration.core.Integration;
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
+import com.threadspace.backend.integration.core.IntegrationType;
+import com.threadspace.backend.integration.vercel.VercelDtos.AnalyticsBucket;
+import com.threadspace.backend.integration.vercel.VercelDtos.DeploymentAnalytics;
+
+/**
+ * DORA-style deployment numbers per hour, day and week.
+ *
+ * Each deployment is added to its three buckets once, after it has reached a
+ * final state and been stored, so reads only touch the requested buckets no
+ * matter how long the history is. Time to recover is measured on production
+ * deployments, from the first failure after the last good deployment to the
+ * next good one; a failure counted after that good deployment moves the start
+ * of its recovery back.
+ */
+@Service
+public class VercelAnalyticsService {
+
+    static final Set<String> FINAL_STATES = Set.of("READY", "ERROR", "CANCELED");
+
+    private static final String PRODUCTION = "production";
+    private static final int MAX_BUCKETS = 500;
+    private static final int ROLLUP_BATCH = 500;
+
+    private final IntegrationSecretCache secretCache;
+    private final VercelDeploymentRecordRepository deploymentRepository;
+    private final VercelDeploymentRollupRepository rollupRepository;
+
+    public VercelAnalyticsService(IntegrationSecretCache secretCache,
+            VercelDeploymentRecordRepository deploymentRepository,
+            VercelDeploymentRollupRepository rollupRepository) {
+        this.secretCache = secretCache;
+        this.deploymentRepository = deploymentRepository;
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * The last {@code buckets} buckets of the given width, oldest first. Empty
+     * buckets are omitted.
+     */
+    public DeploymentAnalytics getAnalytics(UUID projectId, RollupGranularity granularity, int buckets) {
+        UUID integrationId = secretCache.get(projectId, IntegrationType.VERCEL, VercelSecretPayload.class)
+                .integrationId();
+
+        int count = Math.max(1, Math.min(buckets, MAX_BUCKETS));
+        long from = granularity.previousBucketStart(granularity.bucketStart(System.currentTimeMillis()), count - 1);
+
+        List<AnalyticsBucket> rows = rollupRepository
+                .findByIntegrationIdAndGranularityAndBucketStartGreaterThanEqualOrderByBucketStart(
+                        integrationId, granularity, from)
+                .stream()
+                .map(rollup -> toBucket(rollup.getBucketStart(), rollup.getDeployments(), rollup.getFailures(),
+                        rollup.getBuilds(), rollup.getTotalBuildMillis(), rollup.getRecoveries(),
+                        rollup.getTotalRecoveryMillis()))
+                .toList();
+
+        AnalyticsBucket total = toBucket(from,
+                rows.stream().mapToLong(AnalyticsBucket::deployments).sum(),
+                rows.stream().mapToLong(AnalyticsBucket::failures).sum(),
+                rows.stream().mapToLong(AnalyticsBucket::builds).sum(),
+                rows.stream().mapToLong(AnalyticsBucket::totalBuildMillis).sum(),
+                rows.stream().mapToLong(AnalyticsBucket::recoveries).sum(),
+                rows.stream().mapToLong(AnalyticsBucket::totalRecoveryMillis).sum());
+
+        return new DeploymentAnalytics(granularity, count, total, rows);
+    }
+
+    /**
+     * Counts every finished deployment of the integration that has not been
+     * counted yet, oldest first. Call it once a batch of deployments has been
+     * stored, in the same transaction, so failures and the deployment that
+     * fixed them are seen together.
+     */
+    @Transactional
+    public void recordPending(Integration integration) {
+        List<VercelDeploymentRecord> pending;
+        do {
+            pending = deploymentRepository
+                    .findByIntegrationIdAndRolledUpFalseAndStateInOrderByCreatedAtAscDeploymentIdAsc(
+                            integration.getId(), FINAL_STATES, PageRequest.of(0, ROLLUP_BATCH));
+            pending.forEach(deployment -> record(integration, deployment));
+        } while (pending.size() == ROLLUP_BATCH);
+    }
+
+    private void record(Integration integration, VercelDeploymentRecord deployment) {
+        boolean claimed = deploymentRepository.claimRollup(deployment.getId()) == 1;
+        // Keep the loaded row in step with the update so a later flush does not undo it
+        deployment.setRolledUp(true);
+
+        // Cancelled deployments never shipped, so they count toward nothing
+        if (!claimed || deployment.getCreatedAt() <= 0 || "CANCELED".equals(deployment.getState())) {
+            return;
+        }
+
+        boolean failed = "ERROR".equals(deployment.getState());
+        long buildMillis = !failed && deployment.getBuildingAt() != null && deployment.getReadyAt() != null
+                ? Math.max(0, deployment.getReadyAt() - deployment.getBuildingAt())
+                : -1;
+        long recoveryMillis = failed ? -1 : recoveryMillis(integration, deployment);
+
+        increment(integration, deployment.getCreatedAt(), 1, failed ? 1 : 0, buildMillis >= 0 ? 1 : 0,
+                Math.max(0, buildMillis), recoveryMillis >= 0 ? 1 : 0, Math.max(0, recoveryMillis));
+
+        if (failed && PRODUCTION.equals(deployment.getTarget())) {
+            extendRecovery(integration, deployment);
+        }
+    }
+
+    /**
+     * Recovery of a good production deployment, or -1 if it did not follow a
+     * failure. Remembers which failure it was measured from.
+     */
+    private long recoveryMillis(Integration integration, VercelDeploymentRecord deployment) {
+        if (!PRODUCTION.equals(deployment.getTarget())) {
+            return -1;
+        }
+        long lastGood = deploymentRepository
+                .findFirstByIntegrationIdAndTargetAndStateAndCreatedAtLessThanOrderByCreatedAtDesc(
+                        integration.getId(), PRODUCTION, "READY", deployment.getCreatedAt())
+                .map(VercelDeploymentRecord::getCreatedAt)
+                .orElse(0L);
+        VercelDeploymentRecord firstFailure = deploymentRepository
+                .findFirstByIntegrationIdAndTargetAndStateAndCreatedAtBetweenOrderByCreatedAtAsc(
+                        integration.getId(), PRODUCTION, "ERROR", lastGood + 1, deployment.getCreatedAt() - 1)
+                .orElse(null);
+        if (firstFailure == null
+                || deploymentRepository.moveRecoveryFrom(deployment.getId(), deployment.getRecoveryFrom(),
+                        firstFailure.getCreatedAt()) == 0) {
+            return -1;
+        }
+        deployment.setRecoveryFrom(firstFailure.getCreatedAt());
+        return Math.max(0, recoveredAt(deployment) - firstFailure.getCreatedAt());
+    }
+
+    /**
+     * A production failure counted after the good deployment that followed it,
+     * e.g. an older page reached by backfill. If it happened before the
+     * failure that deployment's recovery was measured from, or that
+     * deployment had no recovery, the recovery now starts at this failure.
+     */
+    private void extendRecovery(Integration integration, VercelDeploymentRecord failure) {
+        VercelDeploymentRecord recovery = deploymentRepository
+                .findFirstByIntegrationIdAndTargetAndStateAndCreatedAtGreaterThanOrderByCreatedAtAsc(
+                        integration.getId(), PRODUCTION, "READY", failure.getCreatedAt())
+                .orElse(null);
+        if (recovery == null || !recovery.isRolledUp()) {
+            // Not counted yet; its own rollup will see this failure
+            return;
+        }
+        Long previous = recovery.getRecoveryFrom();
+        if (previous != null && previous <= failure.getCreatedAt()) {
+            return;
+        }
+        if (deploymentRepository.moveRecoveryFrom(recovery.getId(), previous, failure.getCreatedAt()) == 0) {
+            return;
+        }
+        recovery.setRecoveryFrom(failure.getCreatedAt());
+
+        long addedMillis = previous != null
+                ? previous - failure.getCreatedAt()
+                : Math.max(0, recoveredAt(recovery) - failure.getCreatedAt());
+        increment(integration, recovery.getCreatedAt(), 0, 0, 0, 0, previous != null ? 0 : 1, addedMillis);
+    }
+
+    private void increment(Integration integration, long createdAt, long deployments, long failures, long builds,
+            long buildMillis, long recoveries, long recoveryMillis) {
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            rollupRepository.increment(
+                    integration.getId(),
+                    granularity.name(),
+                    granularity.bucketStart(createdAt),
+                    deployments,
+                    failures,
+                    builds,
+                    buildMillis,
+                    recoveries,
+                    recoveryMillis);
+        }
+    }
+
+    private static long recoveredAt(VercelDeploymentRecord deployment) {
+        return deployment.getReadyAt() != null ? deployment.getReadyAt() : deployment.getCreatedAt();
+    }
+
+    private static AnalyticsBucket toBucket(long bucketStart, long deployments, long failures, long builds,
+            long totalBuildMillis, long recoveries, long totalRecoveryMillis) {
+        return new AnalyticsBucket(
+                bucketStart,
+                deployments,
+                failures,
+                deployments > 0 ? (double) failures / deployments : 0,
+                builds,
+                totalBuildMillis,
+                builds > 0 ? totalBuildMillis / builds / 1000.0 : null,
+                recoveries,
+                totalRecoveryMillis,
+                recoveries > 0 ? totalRecoveryMillis / recoveries / 1000.0 : null);
+    }
+}
@@ -1,47 +1,188 @@
 package com.threadspace.backend.integration.vercel;
 
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.threadspace.backend.integration.vercel.VercelResponseCache.CacheKey;
+import com.threadspace.backend.integration.vercel.VercelResponseCache.CachedResponse;
+
+import reactor.core.publisher.Mono;
+
 import java.net.URI;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
+/**
+ * Vercel REST client on the shared, pooled {@link WebClient}. Calls do not
+ * hold a thread while waiting on Vercel; error responses surface as
+ * {@link VercelApiException} with Vercel's status code and body.
+ *
+ * Successful reads go through {@link VercelResponseCache}: fresh entries are
+ * served without a request and stale ones are revalidated by ETag. Requests
+ * that do reach Vercel are metered per token by {@link VercelRateLimiter}, time
+ * out after an adaptive per-endpoint limit, and may be hedged; see
+ * {@link VercelLatencyTracker}.
+ */
 @Component
 public class VercelApiClient {
 
     private static final String BASE_URL = "https://api.vercel.com";
 
-    private final RestTemplate restTemplate;
+    private final WebClient webClient;
+    private final VercelResponseCache responseCache;
+    private final VercelRateLimiter rateLimiter;
+    private final VercelLatencyTracker latencyTracker;
 
-    public VercelApiClient() {
-        this.restTemplate = new RestTemplate();
+    public VercelApiClient(WebClient webClient, VercelResponseCache responseCache, VercelRateLimiter rateLimiter,
+            VercelLatencyTracker latencyTracker) {
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.rateLimiter = rateLimiter;
+        this.latencyTracker = latencyTracker;
     }
 
     public <T> T get(String path, String token, Optional<String> teamId, Class<T> responseType) {
+        try {
+            return getAsync(path, token, teamId, responseType).join();
+        } catch (CompletionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    /**
+     * The exception a blocking caller should see for a failed call: runtime
+     * causes as they are, a timeout as a 504 and any other checked cause as a
+     * 502, so callers only ever deal with {@link VercelApiException}.
+     */
+    static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof TimeoutException) {
+            return new VercelApiException(504, "Vercel did not respond in time", cause);
+        }
+        return new VercelApiException(502, String.valueOf(cause.getMessage()), cause);
+    }
+
+    /**
+     * Same as {@link #get}, without blocking the caller, so several calls can
+     * be in flight at once.
+     */
+    public <T> CompletableFuture<T> getAsync(String path, String token, Optional<String> teamId,
+            Class<T> responseType) {
         UriComponentsBuilder builder = UriComponentsBuilder.fromUriString(BASE_URL + path);
         teamId.ifPresent(id -> builder.queryParam("teamId", id));
         URI uri = builder.build(true).toUri();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
-        headers.set(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE);
+        CacheKey key = responseCache.key(path, token, teamId);
+        CachedResponse cached = responseCache.lookup(key).orElse(null);
+        if (cached != null && cached.isFresh()) {
+            return CompletableFuture.completedFuture(responseType.cast(cached.value()));
+        }
 
         try {
-            ResponseEntity<T> response = restTemplate.exchange(
-                    uri,
-                    HttpMethod.GET,
-                    new HttpEntity<>(headers),
-                    responseType);
-
-            return response.getBody();
-        } catch (org.springframework.web.client.HttpStatusCodeException e) {
-            throw new VercelApiException(e.getStatusCode().value(), e.getResponseBodyAsString(), e);
+            rateLimiter.acquire(key.tokenFingerprint());
+        } catch (VercelRateLimitedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        VercelEndpoint endpoint = VercelEndpoint.of(path);
+        latencyTracker.onPrimaryRequest();
+        return hedged(endpoint, key.tokenFingerprint(), () -> send(uri, token, key, cached, endpoint, responseType));
+    }
+
+    /**
+     * Runs the request and, if it is still outstanding after the endpoint's
+     * hedge delay, a duplicate of it. The duplicate is skipped unless both the
+     * hedge budget and the token's rate limit have room to spare. The first
+     * success wins; the call fails only once every copy sent has failed.
+     */
+    private <T> CompletableFuture<T> hedged(VercelEndpoint endpoint, String tokenFingerprint,
+            Supplier<CompletableFuture<T>> send) {
+        CompletableFuture<T> primary = send.get();
+        long hedgeDelay = latencyTracker.hedgeDelayMillis(endpoint);
+        if (hedgeDelay < 0) {
+            return primary;
         }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        BiConsumer<T, Throwable> settle = (value, error) -> {
+            if (error == null) {
+                result.complete(value);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(error);
+            }
+        };
+        primary.whenComplete(settle);
+
+        CompletableFuture.delayedExecutor(hedgeDelay, TimeUnit.MILLISECONDS).execute(() -> {
+            if (result.isDone() || !latencyTracker.tryHedge() || !rateLimiter.tryAcquireForHedge(tokenFingerprint)) {
+                return;
+            }
+            outstanding.incrementAndGet();
+            CompletableFuture<T> hedge = send.get();
+            hedge.whenComplete(settle);
+            result.whenComplete((value, error) -> hedge.cancel(false));
+        });
+        result.whenComplete((value, error) -> primary.cancel(false));
+        return result;
+    }
+
+    private <T> CompletableFuture<T> send(URI uri, String token, CacheKey key, CachedResponse cached,
+            VercelEndpoint endpoint, Class<T> responseType) {
+        long startedAt = System.nanoTime();
+        return webClient.get()
+                .uri(uri)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (cached != null && cached.etag() != null) {
+                        headers.setIfNoneMatch(cached.etag());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    HttpHeaders responseHeaders = response.headers().asHttpHeaders();
+                    if (response.statusCode().value() == 429) {
+                        long retryAfter = rateLimiter.onRateLimited(key.tokenFingerprint(), responseHeaders);
+                        return response.bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .flatMap(body -> Mono.error(new VercelRateLimitedException(retryAfter, body)));
+                    }
+                    rateLimiter.onResponse(key.tokenFingerprint(), responseHeaders);
+                    if (response.statusCode().value() == 304 && cached != null) {
+                        return response.releaseBody()
+                                .then(Mono.fromSupplier(() -> responseType.cast(
+                                        responseCache.revalidated(key, cached).value())));
+                    }
+                    if (response.statusCode().isError()) {
+                        return response.bodyToMono(String.class)
+                                .defaultIfEmpty("")
+                                .flatMap(body -> Mono.error(
+                                        new VercelApiException(response.statusCode().value(), body, null)));
+                    }
+                    String etag = responseHeaders.getETag();
+                    return response.bodyToMono(responseType)
+                            .doOnNext(body -> responseCache.put(key, body, etag));
+                })
+                .timeout(latencyTracker.timeout(endpoint))
+                .doOnEach(signal -> {
+                    if (signal.isOnComplete() || signal.isOnError()) {
+                        latencyTracker.record(endpoint, (System.nanoTime() - startedAt) / 1_000_000);
+                    }
+                })
+                // A cancelled copy, e.g. a hedge loser, ran at least this long
+                .doOnCancel(() -> latencyTracker.record(endpoint, (System.nanoTime() - startedAt) / 1_000_000))
+                .toFuture();
     }
 }
@@ -0,0 +1,34 @@
+package com.threadspace.backend.integration.vercel;
+
+import com.threadspace.backend.integration.vercel.VercelResponseCache.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/vercel/cache")
+public class VercelCacheController {
+
+    private final VercelResponseCache responseCache;
+
+    @Value("${INTERNAL_SYNC_TOKEN}")
+    private String internalSyncToken;
+
+    public VercelCacheController(VercelResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStats> getCacheStats(
+            @RequestHeader(name = "x-internal-token", required = false) String token) {
+        if (token == null || !token.equals(internalSyncToken)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        return ResponseEntity.ok(responseCache.stats());
+    }
+}
@@ -1,18 +1,23 @@
 package com.threadspace.backend.integration.vercel;
 
+import com.threadspace.backend.integration.vercel.VercelDtos.DeploymentAnalytics;
+import com.threadspace.backend.integration.vercel.VercelDtos.DeploymentPage;
 import com.threadspace.backend.integration.vercel.VercelDtos.ProjectSummary;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Set;
 import java.util.UUID;
 
 @RestController
@@ -22,27 +27,42 @@ public class VercelController {
     private static final Logger log = LoggerFactory.getLogger(VercelController.class);
 
     private final VercelService vercelService;
+    private final VercelDeploymentService deploymentService;
+    private final VercelAnalyticsService analyticsService;
 
     @Value("${INTERNAL_SYNC_TOKEN}")
     private String internalSyncToken;
 
-    public VercelController(VercelService vercelService) {
+    public VercelController(VercelService vercelService, VercelDeploymentService deploymentService,
+            VercelAnalyticsService analyticsService) {
         this.vercelService = vercelService;
+        this.deploymentService = deploymentService;
+        this.analyticsService = analyticsService;
     }
 
     @GetMapping("/summary")
-    public ResponseEntity<ProjectSummary> getVercelSummary(
+    public ResponseEntity<?> getVercelSummary(
             @PathVariable("projectId") UUID projectId,
+            @RequestParam(name = "fields", required = false) String fields,
             @RequestHeader(name = "x-internal-token", required = false) String token) {
         if (token == null || !token.equals(internalSyncToken)) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
         try {
-            ProjectSummary summary = vercelService.getProjectSummary(projectId);
-            return ResponseEntity.ok(summary);
+            if (fields == null || fields.isBlank()) {
+                return ResponseEntity.ok(vercelService.getProjectSummary(projectId));
+            }
+            Set<SummaryField> selected = SummaryField.parse(fields);
+            ProjectSummary summary = vercelService.getProjectSummary(projectId, selected);
+            return ResponseEntity.ok(SummaryField.select(summary, selected));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (VercelRateLimitedException e) {
+            log.warn("Vercel rate limit reached for project {}, retry in {} ms", projectId, e.getRetryAfterMillis());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf((e.getRetryAfterMillis() + 999) / 1000))
+                    .build();
         } catch (VercelApiException e) {
             log.warn("Vercel API error for project {}: status={}, body={}", projectId, e.getStatusCode(),
                     e.getResponseBody());
@@ -52,10 +72,55 @@ public class VercelController {
             if (e.getStatusCode() == 404) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
             }
+            if (e.getStatusCode() == 502 || e.getStatusCode() == 504) {
+                return ResponseEntity.status(e.getStatusCode()).build();
+            }
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         } catch (Exception e) {
             log.error("Unexpected error fetching Vercel summary for project {}", projectId, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    /**
+     * Deployment history from the local table, newest first. Pass the
+     * returned {@code nextCursor} as {@code cursor} to get the next page.
+     */
+    @GetMapping("/deployments")
+    public ResponseEntity<DeploymentPage> getDeployments(
+            @PathVariable("projectId") UUID projectId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", defaultValue = "20") int limit,
+            @RequestHeader(name = "x-internal-token", required = false) String token) {
+        if (token == null || !token.equals(internalSyncToken)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            return ResponseEntity.ok(deploymentService.getDeployments(projectId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
+
+    /**
+     * Deployment frequency, failure rate, build time and time to recover for
+     * the last {@code buckets} hours, days or weeks.
+     */
+    @GetMapping("/analytics")
+    public ResponseEntity<DeploymentAnalytics> getAnalytics(
+            @PathVariable("projectId") UUID projectId,
+            @RequestParam(name = "granularity", defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam(name = "buckets", defaultValue = "30") int buckets,
+            @RequestHeader(name = "x-internal-token", required = false) String token) {
+        if (token == null || !token.equals(internalSyncToken)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            return ResponseEntity.ok(analyticsService.getAnalytics(projectId, granularity, buckets));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
 }
@@ -0,0 +1,170 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A Vercel deployment synced into the local history table.
+ */
+@Entity
+@Table(name = "vercelDeployments",
+        uniqueConstraints = @UniqueConstraint(columnNames = { "integrationId", "deploymentId" }),
+        indexes = @Index(columnList = "integrationId, createdAt, deploymentId"))
+public class VercelDeploymentRecord {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "integrationId", nullable = false)
+    private UUID integrationId;
+
+    @Column(name = "projectId", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "deploymentId", nullable = false)
+    private String deploymentId;
+
+    @Column(name = "url")
+    private String url;
+
+    @Column(name = "state")
+    private String state;
+
+    @Column(name = "target")
+    private String target;
+
+    // Vercel timestamps, epoch millis
+    @Column(name = "createdAt", nullable = false)
+    private long createdAt;
+
+    @Column(name = "buildingAt")
+    private Long buildingAt;
+
+    @Column(name = "readyAt")
+    private Long readyAt;
+
+    // When the stored state was observed: the webhook event time, or when a sync fetched it
+    @Column(name = "stateAt")
+    private Long stateAt;
+
+    // For a counted good production deployment, when the failure it recovered from was created
+    @Column(name = "recoveryFrom")
+    private Long recoveryFrom;
+
+    // Set once the finished deployment has been counted in the rollups
+    @Column(name = "rolledUp", nullable = false, columnDefinition = "boolean default false not null")
+    private boolean rolledUp;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getIntegrationId() {
+        return integrationId;
+    }
+
+    public void setIntegrationId(UUID integrationId) {
+        this.integrationId = integrationId;
+    }
+
+    public UUID getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(UUID projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getDeploymentId() {
+        return deploymentId;
+    }
+
+    public void setDeploymentId(String deploymentId) {
+        this.deploymentId = deploymentId;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public String getTarget() {
+        return target;
+    }
+
+    public void setTarget(String target) {
+        this.target = target;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(long createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getBuildingAt() {
+        return buildingAt;
+    }
+
+    public void setBuildingAt(Long buildingAt) {
+        this.buildingAt = buildingAt;
+    }
+
+    public Long getReadyAt() {
+        return readyAt;
+    }
+
+    public void setReadyAt(Long readyAt) {
+        this.readyAt = readyAt;
+    }
+
+    public Long getStateAt() {
+        return stateAt;
+    }
+
+    public void setStateAt(Long stateAt) {
+        this.stateAt = stateAt;
+    }
+
+    public Long getRecoveryFrom() {
+        return recoveryFrom;
+    }
+
+    public void setRecoveryFrom(Long recoveryFrom) {
+        this.recoveryFrom = recoveryFrom;
+    }
+
+    public boolean isRolledUp() {
+        return rolledUp;
+    }
+
+    public void setRolledUp(boolean rolledUp) {
+        this.rolledUp = rolledUp;
+    }
+}
@@ -0,0 +1,75 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface VercelDeploymentRecordRepository extends JpaRepository<VercelDeploymentRecord, UUID> {
+
+    Optional<VercelDeploymentRecord> findByIntegrationIdAndDeploymentId(UUID integrationId, String deploymentId);
+
+    Optional<VercelDeploymentRecord> findFirstByIntegrationIdAndStateInOrderByCreatedAtAsc(UUID integrationId,
+            Collection<String> states);
+
+    List<VercelDeploymentRecord> findByIntegrationIdAndRolledUpFalseAndStateInOrderByCreatedAtAscDeploymentIdAsc(
+            UUID integrationId, Collection<String> states, Pageable pageable);
+
+    Optional<VercelDeploymentRecord> findFirstByIntegrationIdAndTargetAndStateAndCreatedAtGreaterThanOrderByCreatedAtAsc(
+            UUID integrationId, String target, String state, long createdAt);
+
+    /**
+     * Marks the deployment as counted unless it already is. Returns 1 only
+     * for the caller that should count it.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "update vercel_deployments set rolled_up = true where id = :id and rolled_up = false",
+            nativeQuery = true)
+    int claimRollup(@Param("id") UUID id);
+
+    /**
+     * Moves the start of the recovery counted for a good deployment, if it is
+     * still {@code expected}. Returns 0 when another update got there first.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = """
+            update vercel_deployments set recovery_from = :recoveryFrom
+            where id = :id and recovery_from is not distinct from cast(:expected as bigint)
+            """, nativeQuery = true)
+    int moveRecoveryFrom(@Param("id") UUID id,
+            @Param("expected") Long expected,
+            @Param("recoveryFrom") long recoveryFrom);
+
+    Optional<VercelDeploymentRecord> findFirstByIntegrationIdAndTargetAndStateAndCreatedAtLessThanOrderByCreatedAtDesc(
+            UUID integrationId, String target, String state, long createdAt);
+
+    Optional<VercelDeploymentRecord> findFirstByIntegrationIdAndTargetAndStateAndCreatedAtBetweenOrderByCreatedAtAsc(
+            UUID integrationId, String target, String state, long from, long to);
+
+    List<VercelDeploymentRecord> findByIntegrationIdOrderByCreatedAtDescDeploymentIdDesc(UUID integrationId,
+            Pageable pageable);
+
+    /**
+     * The page of deployments older than the (createdAt, deploymentId) cursor,
+     * newest first.
+     */
+    @Query("""
+            select d from VercelDeploymentRecord d
+            where d.integrationId = :integrationId
+              and (d.createdAt < :createdAt or (d.createdAt = :createdAt and d.deploymentId < :deploymentId))
+            order by d.createdAt desc, d.deploymentId desc
+            """)
+    List<VercelDeploymentRecord> findPageBefore(@Param("integrationId") UUID integrationId,
+            @Param("createdAt") long createdAt,
+            @Param("deploymentId") String deploymentId,
+            Pageable pageable);
+}
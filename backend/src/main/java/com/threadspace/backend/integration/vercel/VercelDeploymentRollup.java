@@ -0,0 +1,135 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Deployment counters for one integration over one hour, day or week,
+ * incremented as deployments finish.
+ */
+@Entity
+@Table(name = "vercelDeploymentRollups", uniqueConstraints = @UniqueConstraint(columnNames = { "integrationId", "granularity", "bucketStart" }))
+public class VercelDeploymentRollup {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "integrationId", nullable = false)
+    private UUID integrationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false)
+    private RollupGranularity granularity;
+
+    // Start of the bucket in UTC, epoch millis
+    @Column(name = "bucketStart", nullable = false)
+    private long bucketStart;
+
+    @Column(name = "deployments", nullable = false)
+    private long deployments;
+
+    @Column(name = "failures", nullable = false)
+    private long failures;
+
+    @Column(name = "builds", nullable = false)
+    private long builds;
+
+    @Column(name = "totalBuildMillis", nullable = false)
+    private long totalBuildMillis;
+
+    @Column(name = "recoveries", nullable = false)
+    private long recoveries;
+
+    @Column(name = "totalRecoveryMillis", nullable = false)
+    private long totalRecoveryMillis;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getIntegrationId() {
+        return integrationId;
+    }
+
+    public void setIntegrationId(UUID integrationId) {
+        this.integrationId = integrationId;
+    }
+
+    public RollupGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(RollupGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public long getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(long bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public long getDeployments() {
+        return deployments;
+    }
+
+    public void setDeployments(long deployments) {
+        this.deployments = deployments;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public void setFailures(long failures) {
+        this.failures = failures;
+    }
+
+    public long getBuilds() {
+        return builds;
+    }
+
+    public void setBuilds(long builds) {
+        this.builds = builds;
+    }
+
+    public long getTotalBuildMillis() {
+        return totalBuildMillis;
+    }
+
+    public void setTotalBuildMillis(long totalBuildMillis) {
+        this.totalBuildMillis = totalBuildMillis;
+    }
+
+    public long getRecoveries() {
+        return recoveries;
+    }
+
+    public void setRecoveries(long recoveries) {
+        this.recoveries = recoveries;
+    }
+
+    public long getTotalRecoveryMillis() {
+        return totalRecoveryMillis;
+    }
+
+    public void setTotalRecoveryMillis(long totalRecoveryMillis) {
+        this.totalRecoveryMillis = totalRecoveryMillis;
+    }
+}
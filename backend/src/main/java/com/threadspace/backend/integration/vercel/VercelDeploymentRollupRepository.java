@@ -0,0 +1,44 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface VercelDeploymentRollupRepository extends JpaRepository<VercelDeploymentRollup, UUID> {
+
+    List<VercelDeploymentRollup> findByIntegrationIdAndGranularityAndBucketStartGreaterThanEqualOrderByBucketStart(
+            UUID integrationId, RollupGranularity granularity, long bucketStart);
+
+    /**
+     * Adds to a bucket's counters, creating the bucket if needed.
+     */
+    @Modifying
+    @Query(value = """
+            insert into vercel_deployment_rollups
+                (id, integration_id, granularity, bucket_start, deployments, failures, builds,
+                 total_build_millis, recoveries, total_recovery_millis)
+            values (gen_random_uuid(), :integrationId, :granularity, :bucketStart, :deployments, :failures,
+                    :builds, :buildMillis, :recoveries, :recoveryMillis)
+            on conflict (integration_id, granularity, bucket_start) do update set
+                deployments = vercel_deployment_rollups.deployments + excluded.deployments,
+                failures = vercel_deployment_rollups.failures + excluded.failures,
+                builds = vercel_deployment_rollups.builds + excluded.builds,
+                total_build_millis = vercel_deployment_rollups.total_build_millis + excluded.total_build_millis,
+                recoveries = vercel_deployment_rollups.recoveries + excluded.recoveries,
+                total_recovery_millis = vercel_deployment_rollups.total_recovery_millis
+                    + excluded.total_recovery_millis
+            """, nativeQuery = true)
+    void increment(@Param("integrationId") UUID integrationId,
+            @Param("granularity") String granularity,
+            @Param("bucketStart") long bucketStart,
+            @Param("deployments") long deployments,
+            @Param("failures") long failures,
+            @Param("builds") long builds,
+            @Param("buildMillis") long buildMillis,
+            @Param("recoveries") long recoveries,
+            @Param("recoveryMillis") long recoveryMillis);
+}
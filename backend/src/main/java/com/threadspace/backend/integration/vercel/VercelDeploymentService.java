@@ -0,0 +1,260 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadspace.backend.integration.core.Integration;
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
+import com.threadspace.backend.integration.core.IntegrationSyncFence;
+import com.threadspace.backend.integration.core.IntegrationType;
+import com.threadspace.backend.integration.vercel.VercelDtos.DeploymentPage;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelDeployment;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelDeploymentsResponse;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelProject;
+
+/**
+ * Keeps a local copy of each Vercel integration's deployment history and
+ * serves it from the database.
+ *
+ * The first syncs page backward through history, a bounded number of pages
+ * per run, until the oldest deployment is reached. Every sync also pulls what
+ * is new since the newest stored deployment, starting earlier if some stored
+ * deployment has not reached a final state yet so its state gets updated.
+ */
+@Service
+public class VercelDeploymentService {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_LIST_LIMIT = 100;
+    private static final Set<String> PENDING_STATES = Set.of("QUEUED", "INITIALIZING", "BUILDING");
+
+    private final IntegrationSecretCache secretCache;
+    private final VercelDeploymentRecordRepository deploymentRepository;
+    private final VercelSyncStateRepository syncStateRepository;
+    private final VercelApiClient vercelApiClient;
+    private final TransactionTemplate transactionTemplate;
+    private final VercelAnalyticsService analyticsService;
+    private final int backfillPagesPerRun;
+
+    public VercelDeploymentService(IntegrationSecretCache secretCache,
+            VercelDeploymentRecordRepository deploymentRepository,
+            VercelSyncStateRepository syncStateRepository,
+            VercelApiClient vercelApiClient,
+            TransactionTemplate transactionTemplate,
+            VercelAnalyticsService analyticsService,
+            @Value("${threadspace.vercel.sync.backfill-pages-per-run:10}") int backfillPagesPerRun) {
+        this.secretCache = secretCache;
+        this.deploymentRepository = deploymentRepository;
+        this.syncStateRepository = syncStateRepository;
+        this.vercelApiClient = vercelApiClient;
+        this.transactionTemplate = transactionTemplate;
+        this.analyticsService = analyticsService;
+        this.backfillPagesPerRun = backfillPagesPerRun;
+    }
+
+    /**
+     * Stored deployments for the project, newest first. {@code cursor} is the
+     * {@code nextCursor} of the previous page, or null for the first page.
+     */
+    public DeploymentPage getDeployments(UUID projectId, String cursor, int limit) {
+        UUID integrationId = secretCache.get(projectId, IntegrationType.VERCEL, VercelSecretPayload.class)
+                .integrationId();
+
+        Pageable page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_LIST_LIMIT)));
+        List<VercelDeploymentRecord> records;
+        if (cursor == null || cursor.isBlank()) {
+            records = deploymentRepository.findByIntegrationIdOrderByCreatedAtDescDeploymentIdDesc(
+                    integrationId, page);
+        } else {
+            int separator = cursor.indexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long createdAt;
+            try {
+                createdAt = Long.parseLong(cursor.substring(0, separator));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor", e);
+            }
+            records = deploymentRepository.findPageBefore(integrationId, createdAt,
+                    cursor.substring(separator + 1), page);
+        }
+
+        List<VercelDeployment> deployments = records.stream()
+                .map(VercelDeploymentService::toDto)
+                .toList();
+        String nextCursor = records.size() < page.getPageSize()
+                ? null
+                : records.get(records.size() - 1).getCreatedAt() + ":"
+                        + records.get(records.size() - 1).getDeploymentId();
+        return new DeploymentPage(deployments, nextCursor);
+    }
+
+    /**
+     * Pulls new and, while backfilling, older deployments for the integration.
+     * Progress is saved after every page, so an interrupted sync resumes where
+     * it stopped. Each page is written only while {@code fence} holds.
+     */
+    public void sync(Integration integration, IntegrationSyncFence fence) {
+        VercelSecretPayload payload = secretCache.get(integration, VercelSecretPayload.class).payload();
+        Optional<String> teamId = Optional.ofNullable(payload.teamId()).filter(id -> !id.isBlank());
+        VercelProject project = vercelApiClient.get("/v9/projects/" + payload.projectName(), payload.apiToken(),
+                teamId, VercelProject.class);
+
+        VercelSyncState state = syncStateRepository.findByIntegrationId(integration.getId())
+                .orElseGet(() -> {
+                    VercelSyncState created = new VercelSyncState();
+                    created.setIntegrationId(integration.getId());
+                    return created;
+                });
+        state.setVercelProjectId(project.id());
+
+        // Newer deployments, walking from the newest page back to `since`
+        if (state.getNewestCreatedAt() != null) {
+            long since = deploymentRepository
+                    .findFirstByIntegrationIdAndStateInOrderByCreatedAtAsc(integration.getId(), PENDING_STATES)
+                    .map(pending -> Math.min(pending.getCreatedAt() - 1, state.getNewestCreatedAt()))
+                    .orElse(state.getNewestCreatedAt());
+            Long until = null;
+            do {
+                VercelDeploymentsResponse response = fetchPage(project.id(), payload, teamId, since, until);
+                until = store(integration, fence, state, response, false);
+            } while (until != null && until > since);
+        }
+
+        // Older deployments, a bounded number of pages per run
+        for (int i = 0; i < backfillPagesPerRun && !state.isBackfillComplete(); i++) {
+            VercelDeploymentsResponse response = fetchPage(project.id(), payload, teamId, null,
+                    state.getBackfillCursor());
+            store(integration, fence, state, response, true);
+        }
+    }
+
+    private VercelDeploymentsResponse fetchPage(String vercelProjectId, VercelSecretPayload payload,
+            Optional<String> teamId, Long since, Long until) {
+        StringBuilder path = new StringBuilder("/v6/deployments?projectId=").append(vercelProjectId)
+                .append("&limit=").append(PAGE_SIZE);
+        if (since != null) {
+            path.append("&since=").append(since);
+        }
+        if (until != null) {
+            path.append("&until=").append(until);
+        }
+        return vercelApiClient.get(path.toString(), payload.apiToken(), teamId, VercelDeploymentsResponse.class);
+    }
+
+    /**
+     * Upserts one page, counts what finished in the rollups and advances the
+     * sync state in a single transaction. Returns the cursor of the next older
+     * page, or null at the end.
+     */
+    private Long store(Integration integration, IntegrationSyncFence fence, VercelSyncState state,
+            VercelDeploymentsResponse response, boolean backfill) {
+        List<VercelDeployment> deployments = response != null && response.deployments() != null
+                ? response.deployments()
+                : List.of();
+        Long next = response != null && response.pagination() != null ? response.pagination().next() : null;
+        if (deployments.isEmpty()) {
+            next = null;
+        }
+
+        Long cursor = next;
+        long observedAt = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> {
+            fence.check();
+            for (VercelDeployment deployment : deployments) {
+                upsert(integration, deployment, observedAt);
+                if (deployment.createdAt() != null && (state.getNewestCreatedAt() == null
+                        || deployment.createdAt() > state.getNewestCreatedAt())) {
+                    state.setNewestCreatedAt(deployment.createdAt());
+                }
+            }
+            analyticsService.recordPending(integration);
+            if (backfill) {
+                state.setBackfillCursor(cursor);
+                state.setBackfillComplete(cursor == null);
+            }
+            state.setLastSyncAt(OffsetDateTime.now());
+            syncStateRepository.save(state);
+        });
+        return cursor;
+    }
+
+    /**
+     * Stores what is known about a deployment as of {@code observedAt}. The
+     * state is only replaced by an observation at least as recent as the one
+     * that set it, so a late event cannot move a deployment back. A deployment
+     * seen for the first time without a creation time is not stored; the next
+     * sync will bring it in.
+     */
+    Optional<VercelDeploymentRecord> upsert(Integration integration, VercelDeployment deployment, long observedAt) {
+        VercelDeploymentRecord record = deploymentRepository
+                .findByIntegrationIdAndDeploymentId(integration.getId(), deployment.id())
+                .orElse(null);
+        if (record == null) {
+            if (deployment.createdAt() == null) {
+                return Optional.empty();
+            }
+            record = new VercelDeploymentRecord();
+            record.setIntegrationId(integration.getId());
+            record.setProjectId(integration.getProjectId());
+            record.setDeploymentId(deployment.id());
+        }
+
+        // Webhook events carry only some fields, so keep what is already stored
+        if (deployment.url() != null) {
+            record.setUrl(deployment.url());
+        }
+        if (deployment.state() != null && (record.getStateAt() == null || observedAt >= record.getStateAt())) {
+            record.setState(deployment.state());
+            record.setStateAt(observedAt);
+        }
+        if (deployment.target() != null) {
+            record.setTarget(deployment.target());
+        }
+        if (deployment.createdAt() != null) {
+            record.setCreatedAt(deployment.createdAt());
+        }
+        if (deployment.buildingAt() != null) {
+            record.setBuildingAt(deployment.buildingAt());
+        }
+        if (deployment.readyAt() != null) {
+            record.setReadyAt(deployment.readyAt());
+        }
+        return Optional.of(deploymentRepository.save(record));
+    }
+
+    /**
+     * Stores one deployment from a webhook event and counts it in the rollups
+     * if it finished. Runs in the caller's transaction.
+     */
+    @Transactional
+    public boolean apply(Integration integration, VercelDeployment deployment, long observedAt) {
+        if (upsert(integration, deployment, observedAt).isEmpty()) {
+            return false;
+        }
+        analyticsService.recordPending(integration);
+        return true;
+    }
+
+    private static VercelDeployment toDto(VercelDeploymentRecord record) {
+        return new VercelDeployment(
+                record.getDeploymentId(),
+                record.getUrl(),
+                record.getState(),
+                record.getTarget(),
+                record.getCreatedAt(),
+                record.getBuildingAt(),
+                record.getReadyAt());
+    }
+}
@@ -1,6 +1,7 @@
 package com.threadspace.backend.integration.vercel;
 
 import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.util.List;
 
 public class VercelDtos {
@@ -9,7 +10,8 @@ public class VercelDtos {
             String name,
             VercelGit git,
             String framework,
-            String accountId) {
+            String accountId,
+            List<VercelDeployment> latestDeployments) {
     }
 
     public record VercelGit(String repository, String branch) {
@@ -30,21 +32,54 @@ public class VercelDtos {
     public record VercelDeployment(
             @JsonAlias("uid") String id,
             String url,
-            String state,
+            @JsonAlias("readyState") String state,
             String target,
-            Long createdAt) {
+            Long createdAt,
+            Long buildingAt,
+            @JsonAlias("ready") Long readyAt) {
     }
 
-    public record VercelDeploymentsResponse(List<VercelDeployment> deployments) {
+    public record VercelDeploymentsResponse(List<VercelDeployment> deployments, VercelPagination pagination) {
     }
 
+    // next is the `until` value for the following, older page
+    public record VercelPagination(Long count, Long next, Long prev) {
+    }
+
+    public record DeploymentPage(List<VercelDeployment> deployments, String nextCursor) {
+    }
+
+    // With a fields= selector only the selected fields are returned; see SummaryField.select
     public record ProjectSummary(
             String id,
             String name,
             String framework,
             String repo,
+            @JsonIgnore VercelDeployment latestDeployment,
             List<VercelDomain> domains,
             List<VercelEnvVar> envs,
-            List<VercelDeployment> deployments) {
+            List<VercelDeployment> deployments,
+            // Sections that could not be fetched and are returned empty
+            List<String> unavailable) {
+    }
+
+    public record DeploymentAnalytics(
+            RollupGranularity granularity,
+            int buckets,
+            AnalyticsBucket total,
+            List<AnalyticsBucket> series) {
+    }
+
+    public record AnalyticsBucket(
+            long bucketStart,
+            long deployments,
+            long failures,
+            double failureRate,
+            long builds,
+            long totalBuildMillis,
+            Double meanBuildSeconds,
+            long recoveries,
+            long totalRecoveryMillis,
+            Double meanTimeToRecoverSeconds) {
     }
 }
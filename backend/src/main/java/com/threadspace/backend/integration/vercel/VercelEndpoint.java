@@ -0,0 +1,29 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.util.regex.Pattern;
+
+/**
+ * Families of Vercel API paths that share caching and timeout behaviour.
+ */
+public enum VercelEndpoint {
+    PROJECT("^/v\\d+/projects/[^/?]+$"),
+    DOMAINS("^/v\\d+/projects/[^/?]+/domains"),
+    ENV("^/v\\d+/projects/[^/?]+/env"),
+    DEPLOYMENTS("^/v\\d+/deployments"),
+    OTHER(".*");
+
+    private final Pattern pattern;
+
+    VercelEndpoint(String pattern) {
+        this.pattern = Pattern.compile(pattern);
+    }
+
+    public static VercelEndpoint of(String path) {
+        for (VercelEndpoint endpoint : values()) {
+            if (endpoint.pattern.matcher(path).find()) {
+                return endpoint;
+            }
+        }
+        return OTHER;
+    }
+}
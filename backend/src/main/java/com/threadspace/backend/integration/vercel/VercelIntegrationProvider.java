@@ -1,7 +1,9 @@
 package com.threadspace.backend.integration.vercel;
 
+import java.time.Duration;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -10,9 +12,14 @@ import com.threadspace.backend.integration.core.Integration;
 import com.threadspace.backend.integration.core.IntegrationProvider;
 import com.threadspace.backend.integration.core.IntegrationRepository;
 import com.threadspace.backend.integration.core.IntegrationSecret;
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
 import com.threadspace.backend.integration.core.IntegrationSecretRepository;
-import com.threadspace.backend.integration.core.IntegrationStatus;
+import com.threadspace.backend.integration.core.IntegrationSyncTask;
 import com.threadspace.backend.integration.core.IntegrationType;
+import com.threadspace.backend.integration.core.IntegrationVerificationRequested;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelProject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,13 +29,28 @@ public class VercelIntegrationProvider implements IntegrationProvider {
     private final IntegrationRepository integrationRepository;
     private final IntegrationSecretRepository integrationSecretRepository;
     private final ObjectMapper objectMapper;
+    private final IntegrationSecretCache secretCache;
+    private final VercelApiClient vercelApiClient;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VercelDeploymentService deploymentService;
+    private final Duration syncInterval;
 
     public VercelIntegrationProvider(IntegrationRepository integrationRepository,
             IntegrationSecretRepository integrationSecretRepository,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            IntegrationSecretCache secretCache,
+            VercelApiClient vercelApiClient,
+            ApplicationEventPublisher eventPublisher,
+            VercelDeploymentService deploymentService,
+            @Value("${threadspace.vercel.sync.interval-ms:1800000}") long syncIntervalMillis) {
         this.integrationRepository = integrationRepository;
         this.integrationSecretRepository = integrationSecretRepository;
         this.objectMapper = objectMapper;
+        this.secretCache = secretCache;
+        this.vercelApiClient = vercelApiClient;
+        this.eventPublisher = eventPublisher;
+        this.deploymentService = deploymentService;
+        this.syncInterval = Duration.ofMillis(syncIntervalMillis);
     }
 
     @Override
@@ -65,7 +87,7 @@ public class VercelIntegrationProvider implements IntegrationProvider {
         integration.setDisplayName(displayName.trim());
         integration.setIntegrationType(IntegrationType.VERCEL);
         integration.setProjectId(projectId);
-        integration.setIntegrationStatus(IntegrationStatus.PENDING);
+        integration.requestVerification();
 
         integration = integrationRepository.save(integration);
 
@@ -92,10 +114,11 @@ public class VercelIntegrationProvider implements IntegrationProvider {
 
         integrationSecretRepository.save(secret);
 
-        // TODO later: call Vercel to validate credentials; if invalid, throw here.
+        // 3) Credentials are checked against Vercel once this transaction commits
+        eventPublisher.publishEvent(new IntegrationVerificationRequested(integration.getId(),
+                integration.getProjectId(), IntegrationType.VERCEL));
 
-        integration.setIntegrationStatus(IntegrationStatus.CONNECTED);
-        return integrationRepository.save(integration);
+        return integration;
     }
 
     @Override
@@ -136,27 +159,20 @@ public class VercelIntegrationProvider implements IntegrationProvider {
         secret.setSecretJson(json);
         integrationSecretRepository.save(secret);
 
+        // New credentials need verifying again
+        integration.requestVerification();
+        integration = integrationRepository.save(integration);
+        eventPublisher.publishEvent(new IntegrationVerificationRequested(integration.getId(),
+                integration.getProjectId(), IntegrationType.VERCEL));
+
         return integration;
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Map<String, String> getDisplayCredentials(UUID projectId) {
-        Integration integration = integrationRepository
-                .findByProjectIdAndIntegrationType(projectId, IntegrationType.VERCEL)
-                .stream().findFirst()
-                .orElseThrow(() -> new IllegalStateException("No Vercel integration found for project"));
-
-        IntegrationSecret secret = integrationSecretRepository
-                .findByIntegrationId(integration.getId())
-                .orElseThrow(() -> new IllegalStateException("No secret found for integration"));
-
-        VercelSecretPayload payload;
-        try {
-            payload = objectMapper.readValue(secret.getSecretJson(), VercelSecretPayload.class);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to deserialize Vercel secrets", e);
-        }
+        VercelSecretPayload payload = secretCache
+                .get(projectId, IntegrationType.VERCEL, VercelSecretPayload.class)
+                .payload();
 
         Map<String, String> result = new LinkedHashMap<>();
         result.put("apiToken", mask(payload.apiToken()));
@@ -167,6 +183,34 @@ public class VercelIntegrationProvider implements IntegrationProvider {
         return result;
     }
 
+    @Override
+    public void verify(Integration integration) {
+        VercelSecretPayload payload = secretCache.get(integration, VercelSecretPayload.class).payload();
+
+        try {
+            vercelApiClient.get("/v9/projects/" + payload.projectName(), payload.apiToken(),
+                    Optional.ofNullable(payload.teamId()).filter(id -> !id.isBlank()), VercelProject.class);
+        } catch (VercelApiException e) {
+            if (e.getStatusCode() == 401 || e.getStatusCode() == 403) {
+                throw new IllegalArgumentException("Invalid Vercel apiToken", e);
+            }
+            if (e.getStatusCode() == 404) {
+                throw new IllegalArgumentException("Vercel project not found: " + payload.projectName(), e);
+            }
+            if (e.getStatusCode() >= 400 && e.getStatusCode() < 500
+                    && e.getStatusCode() != 408 && e.getStatusCode() != 429) {
+                throw new IllegalArgumentException("Vercel rejected the credentials: " + e.getMessage(), e);
+            }
+            // Timeouts, rate limits and server errors are worth retrying
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<IntegrationSyncTask> createSyncTask(Integration integration) {
+        return Optional.of(new IntegrationSyncTask(syncInterval, fence -> deploymentService.sync(integration, fence)));
+    }
+
     private String mask(String value) {
         if (value == null || value.length() < 4) return "****";
         return "****" + value.substring(value.length() - 4);
@@ -0,0 +1,121 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recent Vercel response times per endpoint family, and the timeouts and hedge
+ * delays derived from them.
+ *
+ * The timeout for a family is its observed p99 times a multiplier, clamped to
+ * a configured range; until enough samples exist the maximum is used. Hedged
+ * requests are sent after the family's p95 and are paid for from a global
+ * budget that grows by a fraction of a hedge with every primary request, so
+ * hedging adds at most that fraction to upstream load.
+ */
+@Component
+public class VercelLatencyTracker {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final double MAX_HEDGE_TOKENS = 10;
+
+    private final Map<VercelEndpoint, Samples> samples = new EnumMap<>(VercelEndpoint.class);
+    private final long minTimeoutMillis;
+    private final long maxTimeoutMillis;
+    private final double timeoutMultiplier;
+    private final boolean hedgingEnabled;
+    private final double hedgeBudgetRatio;
+    private final long minHedgeDelayMillis;
+
+    private double hedgeTokens = MAX_HEDGE_TOKENS;
+
+    public VercelLatencyTracker(
+            @Value("${threadspace.vercel.latency.window:256}") int window,
+            @Value("${threadspace.vercel.timeout.min-ms:1000}") long minTimeoutMillis,
+            @Value("${threadspace.vercel.timeout.max-ms:10000}") long maxTimeoutMillis,
+            @Value("${threadspace.vercel.timeout.p99-multiplier:2.0}") double timeoutMultiplier,
+            @Value("${threadspace.vercel.hedging.enabled:true}") boolean hedgingEnabled,
+            @Value("${threadspace.vercel.hedging.budget-ratio:0.05}") double hedgeBudgetRatio,
+            @Value("${threadspace.vercel.hedging.min-delay-ms:50}") long minHedgeDelayMillis) {
+        for (VercelEndpoint endpoint : VercelEndpoint.values()) {
+            samples.put(endpoint, new Samples(window));
+        }
+        this.minTimeoutMillis = minTimeoutMillis;
+        this.maxTimeoutMillis = maxTimeoutMillis;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgeBudgetRatio = hedgeBudgetRatio;
+        this.minHedgeDelayMillis = minHedgeDelayMillis;
+    }
+
+    public void record(VercelEndpoint endpoint, long elapsedMillis) {
+        samples.get(endpoint).add(elapsedMillis);
+    }
+
+    public Duration timeout(VercelEndpoint endpoint) {
+        long p99 = samples.get(endpoint).percentile(0.99);
+        if (p99 < 0) {
+            return Duration.ofMillis(maxTimeoutMillis);
+        }
+        long timeout = (long) (p99 * timeoutMultiplier);
+        return Duration.ofMillis(Math.max(minTimeoutMillis, Math.min(maxTimeoutMillis, timeout)));
+    }
+
+    /**
+     * How long to wait on a primary request before hedging it, or -1 if it
+     * should not be hedged.
+     */
+    public long hedgeDelayMillis(VercelEndpoint endpoint) {
+        if (!hedgingEnabled) {
+            return -1;
+        }
+        long p95 = samples.get(endpoint).percentile(0.95);
+        return p95 < 0 ? -1 : Math.max(minHedgeDelayMillis, p95);
+    }
+
+    public synchronized void onPrimaryRequest() {
+        hedgeTokens = Math.min(MAX_HEDGE_TOKENS, hedgeTokens + hedgeBudgetRatio);
+    }
+
+    public synchronized boolean tryHedge() {
+        if (hedgeTokens < 1) {
+            return false;
+        }
+        hedgeTokens -= 1;
+        return true;
+    }
+
+    private static final class Samples {
+
+        private final long[] values;
+        private int next;
+        private int size;
+
+        private Samples(int window) {
+            this.values = new long[window];
+        }
+
+        private synchronized void add(long value) {
+            values[next] = value;
+            next = (next + 1) % values.length;
+            size = Math.min(size + 1, values.length);
+        }
+
+        private long percentile(double p) {
+            long[] sorted;
+            synchronized (this) {
+                if (size < MIN_SAMPLES) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(values, size);
+            }
+            Arrays.sort(sorted);
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.threadspace.backend.integration.vercel;
+
+/**
+ * Thrown without calling Vercel when the token's budget is spent, or when
+ * Vercel itself answered 429. Carries how long the caller should wait.
+ */
+public class VercelRateLimitedException extends VercelApiException {
+    private final long retryAfterMillis;
+
+    public VercelRateLimitedException(long retryAfterMillis, String responseBody) {
+        super(429, responseBody, null);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
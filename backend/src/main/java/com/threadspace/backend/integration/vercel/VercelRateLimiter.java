@@ -0,0 +1,189 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import com.threadspace.backend.integration.core.LruCache;
+
+/**
+ * Per-token request budget for the Vercel API.
+ *
+ * A local token bucket smooths bursts, and the X-RateLimit-* headers on every
+ * response keep track of what Vercel says is left. Once the budget is spent,
+ * or after a 429, requests for that token fail immediately with
+ * {@link VercelRateLimitedException} until the reset time or Retry-After has
+ * passed. Repeated 429s back off exponentially, with jitter so callers do not
+ * all come back at once. Budgets are kept for the most recently used
+ * {@code threadspace.vercel.rate-limit.max-tokens} tokens.
+ */
+@Component
+public class VercelRateLimiter {
+
+    private static final long MAX_BACKOFF_MILLIS = 5 * 60 * 1000;
+
+    private final double refillPerMilli;
+    private final double burst;
+    private final int hedgeReserve;
+    private final LruCache<String, Budget> budgets;
+
+    public VercelRateLimiter(
+            @Value("${threadspace.vercel.rate-limit.requests-per-second:10}") double requestsPerSecond,
+            @Value("${threadspace.vercel.rate-limit.burst:20}") int burst,
+            @Value("${threadspace.vercel.rate-limit.max-tokens:10000}") int maxTokens,
+            @Value("${threadspace.vercel.rate-limit.hedge-reserve:5}") int hedgeReserve) {
+        this.refillPerMilli = requestsPerSecond / 1000.0;
+        this.burst = burst;
+        this.hedgeReserve = hedgeReserve;
+        this.budgets = new LruCache<>(maxTokens);
+    }
+
+    /**
+     * Takes one request from the token's budget, or throws if there is none.
+     */
+    public void acquire(String tokenFingerprint) {
+        budgetFor(tokenFingerprint).acquire(System.currentTimeMillis());
+    }
+
+    /**
+     * Takes one request for a hedge, but only if at least
+     * {@code threadspace.vercel.rate-limit.hedge-reserve} would still be left
+     * for regular calls, locally and by Vercel's count.
+     */
+    public boolean tryAcquireForHedge(String tokenFingerprint) {
+        return budgetFor(tokenFingerprint).tryAcquireSpare(System.currentTimeMillis(), hedgeReserve);
+    }
+
+    public void onResponse(String tokenFingerprint, HttpHeaders headers) {
+        budgetFor(tokenFingerprint).update(System.currentTimeMillis(), headers);
+    }
+
+    /**
+     * Blocks the token after a 429 and returns how long callers should wait.
+     */
+    public long onRateLimited(String tokenFingerprint, HttpHeaders headers) {
+        return budgetFor(tokenFingerprint).rateLimited(System.currentTimeMillis(), headers);
+    }
+
+    private Budget budgetFor(String tokenFingerprint) {
+        return budgets.computeIfAbsent(tokenFingerprint, k -> new Budget());
+    }
+
+    private final class Budget {
+
+        private double tokens = burst;
+        private long refilledAt = System.currentTimeMillis();
+        private long remaining = -1;
+        private long resetAt;
+        private long blockedUntil;
+        private int consecutiveLimited;
+
+        private synchronized void acquire(long now) {
+            if (now < blockedUntil) {
+                throw new VercelRateLimitedException(blockedUntil - now, "Rate limited, retry later");
+            }
+            if (remaining == 0 && now < resetAt) {
+                throw new VercelRateLimitedException(resetAt - now, "Vercel rate limit budget exhausted");
+            }
+
+            tokens = Math.min(burst, tokens + (now - refilledAt) * refillPerMilli);
+            refilledAt = now;
+            if (tokens < 1) {
+                throw new VercelRateLimitedException((long) Math.ceil((1 - tokens) / refillPerMilli),
+                        "Too many Vercel requests for this token");
+            }
+            tokens -= 1;
+            if (remaining > 0) {
+                remaining--;
+            }
+        }
+
+        private synchronized boolean tryAcquireSpare(long now, int reserve) {
+            if (now < blockedUntil || (remaining >= 0 && remaining <= reserve && now < resetAt)) {
+                return false;
+            }
+            tokens = Math.min(burst, tokens + (now - refilledAt) * refillPerMilli);
+            refilledAt = now;
+            if (tokens < 1 + reserve) {
+                return false;
+            }
+            tokens -= 1;
+            if (remaining > 0) {
+                remaining--;
+            }
+            return true;
+        }
+
+        private synchronized void update(long now, HttpHeaders headers) {
+            consecutiveLimited = 0;
+            Long reportedRemaining = longHeader(headers, "X-RateLimit-Remaining");
+            Long reset = longHeader(headers, "X-RateLimit-Reset");
+            if (reportedRemaining != null) {
+                remaining = reportedRemaining;
+            }
+            if (reset != null) {
+                resetAt = reset * 1000;
+            }
+            if (remaining != -1 && now >= resetAt) {
+                remaining = -1;
+            }
+        }
+
+        private synchronized long rateLimited(long now, HttpHeaders headers) {
+            consecutiveLimited++;
+            long wait;
+            Long retryAfter = retryAfterMillis(headers.getFirst(HttpHeaders.RETRY_AFTER), now);
+            Long reset = longHeader(headers, "X-RateLimit-Reset");
+            if (retryAfter != null) {
+                wait = retryAfter;
+            } else if (reset != null) {
+                wait = Math.max(0, reset * 1000 - now);
+            } else {
+                wait = 1000L << Math.min(consecutiveLimited - 1, 8);
+            }
+            wait = Math.min(MAX_BACKOFF_MILLIS, wait + (long) (wait * 0.2 * ThreadLocalRandom.current().nextDouble()));
+            remaining = 0;
+            resetAt = now + wait;
+            blockedUntil = now + wait;
+            return wait;
+        }
+    }
+
+    /**
+     * Retry-After in milliseconds from {@code now}. The header is either a
+     * number of seconds or an HTTP date.
+     */
+    static Long retryAfterMillis(String value, long now) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim())) * 1000;
+        } catch (NumberFormatException e) {
+            // Not delta-seconds, try an HTTP date
+        }
+        try {
+            long at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return Math.max(0, at - now);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Long longHeader(HttpHeaders headers, String name) {
+        String value = headers.getFirst(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.threadspace.backend.integration.core.LruCache;
+
+/**
+ * Size-bounded LRU cache of decoded Vercel GET responses, keyed by path, team
+ * and a fingerprint of the API token so tokens never share entries.
+ *
+ * Entries are fresh for a TTL that depends on the endpoint family. A stale
+ * entry is kept with its ETag so the next request can revalidate it with
+ * If-None-Match, which usually costs a 304 rather than a full response.
+ */
+@Component
+public class VercelResponseCache {
+
+    private final Map<VercelEndpoint, Duration> ttls = new EnumMap<>(VercelEndpoint.class);
+    private final LruCache<CacheKey, CachedResponse> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public VercelResponseCache(
+            @Value("${threadspace.vercel.cache.max-entries:1000}") int maxEntries,
+            @Value("${threadspace.vercel.cache.ttl.project-seconds:300}") long projectTtlSeconds,
+            @Value("${threadspace.vercel.cache.ttl.domains-seconds:300}") long domainsTtlSeconds,
+            @Value("${threadspace.vercel.cache.ttl.env-seconds:300}") long envTtlSeconds,
+            @Value("${threadspace.vercel.cache.ttl.deployments-seconds:30}") long deploymentsTtlSeconds,
+            @Value("${threadspace.vercel.cache.ttl.default-seconds:60}") long defaultTtlSeconds) {
+        ttls.put(VercelEndpoint.PROJECT, Duration.ofSeconds(projectTtlSeconds));
+        ttls.put(VercelEndpoint.DOMAINS, Duration.ofSeconds(domainsTtlSeconds));
+        ttls.put(VercelEndpoint.ENV, Duration.ofSeconds(envTtlSeconds));
+        ttls.put(VercelEndpoint.DEPLOYMENTS, Duration.ofSeconds(deploymentsTtlSeconds));
+        ttls.put(VercelEndpoint.OTHER, Duration.ofSeconds(defaultTtlSeconds));
+        this.entries = new LruCache<>(maxEntries);
+    }
+
+    public CacheKey key(String path, String token, Optional<String> teamId) {
+        return new CacheKey(path, teamId.orElse(null), fingerprint(token));
+    }
+
+    /**
+     * The cached response for the key, fresh or stale, counting a hit only
+     * when it is still fresh.
+     */
+    public Optional<CachedResponse> lookup(CacheKey key) {
+        CachedResponse cached = entries.get(key);
+        if (cached != null && cached.isFresh()) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return Optional.ofNullable(cached);
+    }
+
+    public void put(CacheKey key, Object value, String etag) {
+        entries.put(key, new CachedResponse(value, etag, expiresAt(key)));
+    }
+
+    /**
+     * Extends a stale entry after Vercel answered 304 Not Modified.
+     */
+    public CachedResponse revalidated(CacheKey key, CachedResponse stale) {
+        revalidations.increment();
+        CachedResponse refreshed = new CachedResponse(stale.value(), stale.etag(), expiresAt(key));
+        entries.put(key, refreshed);
+        return refreshed;
+    }
+
+    /**
+     * Drops the entries for one Vercel project, named by id or by name:
+     * {@code /vN/projects/<project>} and everything under it, and listings
+     * filtered by {@code projectId=<project>}. Other projects whose id or name
+     * merely starts the same way are kept.
+     */
+    public int invalidateProject(String project) {
+        Pattern pattern = Pattern.compile("^/v\\d+/projects/" + Pattern.quote(project) + "(?:[/?].*)?$"
+                + "|[?&]projectId=" + Pattern.quote(project) + "(?:&.*)?$");
+        int dropped = entries.removeIf((key, cached) -> pattern.matcher(key.path()).find());
+        invalidations.add(dropped);
+        return dropped;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(entries.size(), entries.maxEntries(), hits.sum(), misses.sum(), revalidations.sum(),
+                entries.evictions(), invalidations.sum());
+    }
+
+    private long expiresAt(CacheKey key) {
+        return System.currentTimeMillis() + ttls.get(VercelEndpoint.of(key.path())).toMillis();
+    }
+
+    static String fingerprint(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public record CacheKey(String path, String teamId, String tokenFingerprint) {
+    }
+
+    public record CachedResponse(Object value, String etag, long expiresAt) {
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+
+    public record CacheStats(
+            int size,
+            int maxEntries,
+            long hits,
+            long misses,
+            long revalidations,
+            long evictions,
+            long invalidations) {
+    }
+}
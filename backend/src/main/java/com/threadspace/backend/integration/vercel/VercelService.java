@@ -1,93 +1,171 @@
 package com.threadspace.backend.integration.vercel;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.threadspace.backend.integration.core.Integration;
-import com.threadspace.backend.integration.core.IntegrationRepository;
-import com.threadspace.backend.integration.core.IntegrationSecret;
-import com.threadspace.backend.integration.core.IntegrationSecretRepository;
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
 import com.threadspace.backend.integration.core.IntegrationType;
+import com.threadspace.backend.integration.core.SingleFlight;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.threadspace.backend.integration.vercel.VercelDtos.*;
 
 @Service
 public class VercelService {
 
-        private final IntegrationRepository integrationRepository;
-        private final IntegrationSecretRepository integrationSecretRepository;
+        private static final Logger log = LoggerFactory.getLogger(VercelService.class);
+
+        private final IntegrationSecretCache secretCache;
         private final VercelApiClient vercelApiClient;
-        private final ObjectMapper objectMapper;
+        private final long sectionTimeoutMillis;
+        private final SingleFlight<SummaryKey, ProjectSummary> inFlight = new SingleFlight<>();
 
         public VercelService(
-                        IntegrationRepository integrationRepository,
-                        IntegrationSecretRepository integrationSecretRepository,
+                        IntegrationSecretCache secretCache,
                         VercelApiClient vercelApiClient,
-                        ObjectMapper objectMapper) {
-                this.integrationRepository = integrationRepository;
-                this.integrationSecretRepository = integrationSecretRepository;
+                        @Value("${threadspace.vercel.section-timeout-ms:5000}") long sectionTimeoutMillis) {
+                this.secretCache = secretCache;
                 this.vercelApiClient = vercelApiClient;
-                this.objectMapper = objectMapper;
+                this.sectionTimeoutMillis = sectionTimeoutMillis;
         }
 
-        @Transactional(readOnly = true)
         public ProjectSummary getProjectSummary(UUID projectId) {
-                Integration integration = integrationRepository
-                                .findByProjectIdAndIntegrationType(projectId, IntegrationType.VERCEL)
-                                .stream()
-                                .findFirst()
-                                .orElseThrow(() -> new IllegalArgumentException(
-                                                "No Vercel integration found for project"));
-
-                IntegrationSecret secret = integrationSecretRepository.findByIntegrationId(integration.getId())
-                                .orElseThrow(() -> new IllegalArgumentException(
-                                                "No Vercel secret found for integration"));
-
-                VercelSecretPayload payload;
-                try {
-                        payload = objectMapper.readValue(secret.getSecretJson(), VercelSecretPayload.class);
-                } catch (Exception e) {
-                        throw new RuntimeException("Failed to parse Vercel secrets", e);
-                }
+                return getProjectSummary(projectId, EnumSet.allOf(SummaryField.class));
+        }
+
+        /**
+         * Summary with only the selected fields, calling Vercel only for what they
+         * need. Concurrent callers for the same project and fields share one
+         * upstream load.
+         */
+        public ProjectSummary getProjectSummary(UUID projectId, Set<SummaryField> fields) {
+                Set<SummaryField> selected = EnumSet.copyOf(fields);
+                return inFlight.execute(new SummaryKey(projectId, selected),
+                                () -> loadProjectSummary(projectId, selected));
+        }
+
+        private ProjectSummary loadProjectSummary(UUID projectId, Set<SummaryField> fields) {
+                VercelSecretPayload payload = secretCache
+                                .get(projectId, IntegrationType.VERCEL, VercelSecretPayload.class)
+                                .payload();
 
                 Optional<String> teamId = Optional.ofNullable(payload.teamId()).filter(id -> !id.isBlank());
 
                 VercelProject project = vercelApiClient.get("/v9/projects/" + payload.projectName(), payload.apiToken(),
                                 teamId, VercelProject.class);
-                VercelDomainsResponse domainsResponse = vercelApiClient.get(
+
+                // The selected sections only need the project id, so fetch them together
+                CompletableFuture<VercelDomainsResponse> domainsCall = !fields.contains(SummaryField.DOMAINS) ? null
+                                : withSectionTimeout(vercelApiClient.getAsync(
                                 "/v9/projects/" + project.id() + "/domains",
                                 payload.apiToken(),
                                 teamId,
-                                VercelDomainsResponse.class);
+                                VercelDomainsResponse.class));
 
-                VercelEnvResponse envResponse = vercelApiClient.get(
+                CompletableFuture<VercelEnvResponse> envCall = !fields.contains(SummaryField.ENVS) ? null
+                                : withSectionTimeout(vercelApiClient.getAsync(
                                 "/v10/projects/" + project.id() + "/env",
                                 payload.apiToken(),
                                 teamId,
-                                VercelEnvResponse.class);
+                                VercelEnvResponse.class));
 
-                VercelDeploymentsResponse deploymentsResponse = vercelApiClient.get(
+                CompletableFuture<VercelDeploymentsResponse> deploymentsCall = !fields.contains(SummaryField.DEPLOYMENTS) ? null
+                                : withSectionTimeout(vercelApiClient.getAsync(
                                 "/v6/deployments?projectId=" + project.id() + "&limit=10",
                                 payload.apiToken(),
                                 teamId,
-                                VercelDeploymentsResponse.class);
+                                VercelDeploymentsResponse.class));
+
+                List<String> unavailable = new ArrayList<>();
+                VercelDomainsResponse domainsResponse = awaitSection("domains", domainsCall, projectId, unavailable);
+                VercelEnvResponse envResponse = awaitSection("envs", envCall, projectId, unavailable);
+                VercelDeploymentsResponse deploymentsResponse = awaitSection("deployments", deploymentsCall, projectId,
+                                unavailable);
 
                 return new ProjectSummary(
-                                project.id(),
-                                project.name(),
-                                project.framework(),
-                                project.git() != null ? project.git().repository() : null,
-                                domainsResponse != null && domainsResponse.domains() != null ? domainsResponse.domains()
-                                                : Collections.emptyList(),
-                                envResponse != null && envResponse.envs() != null ? envResponse.envs()
-                                                : Collections.emptyList(),
-                                deploymentsResponse != null && deploymentsResponse.deployments() != null
-                                                ? deploymentsResponse.deployments()
-                                                : Collections.emptyList());
+                                fields.contains(SummaryField.ID) ? project.id() : null,
+                                fields.contains(SummaryField.NAME) ? project.name() : null,
+                                fields.contains(SummaryField.FRAMEWORK) ? project.framework() : null,
+                                fields.contains(SummaryField.REPO) && project.git() != null
+                                                ? project.git().repository()
+                                                : null,
+                                fields.contains(SummaryField.LATEST_DEPLOYMENT) ? latestDeployment(project) : null,
+                                !fields.contains(SummaryField.DOMAINS) ? null
+                                                : domainsResponse != null && domainsResponse.domains() != null
+                                                                ? domainsResponse.domains()
+                                                                : Collections.emptyList(),
+                                !fields.contains(SummaryField.ENVS) ? null
+                                                : envResponse != null && envResponse.envs() != null
+                                                                ? envResponse.envs()
+                                                                : Collections.emptyList(),
+                                !fields.contains(SummaryField.DEPLOYMENTS) ? null
+                                                : deploymentsResponse != null
+                                                                && deploymentsResponse.deployments() != null
+                                                                                ? deploymentsResponse.deployments()
+                                                                                : Collections.emptyList(),
+                                unavailable);
+        }
+
+        private static VercelDeployment latestDeployment(VercelProject project) {
+                if (project.latestDeployments() == null) {
+                        return null;
+                }
+                return project.latestDeployments().stream()
+                                .filter(deployment -> deployment.createdAt() != null)
+                                .max(Comparator.comparing(VercelDeployment::createdAt))
+                                .orElse(null);
+        }
+
+        /**
+         * Cancels the call, and with it the underlying request, once the section
+         * timeout passes.
+         */
+        private <T> CompletableFuture<T> withSectionTimeout(CompletableFuture<T> call) {
+                if (!call.isDone()) {
+                        CompletableFuture.delayedExecutor(sectionTimeoutMillis, TimeUnit.MILLISECONDS)
+                                        .execute(() -> call.cancel(true));
+                }
+                return call;
+        }
+
+        /**
+         * Waits for one section, if it was requested. A section that failed or exceeded its timeout is
+         * recorded as unavailable instead of failing the whole summary.
+         */
+        private <T> T awaitSection(String section, CompletableFuture<T> call, UUID projectId,
+                        List<String> unavailable) {
+                if (call == null) {
+                        return null;
+                }
+                try {
+                        return call.join();
+                } catch (CancellationException e) {
+                        log.warn("Vercel {} unavailable for project {}: timed out", section, projectId);
+                        unavailable.add(section);
+                        return null;
+                } catch (CompletionException e) {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        log.warn("Vercel {} unavailable for project {}: {}", section, projectId,
+                                        cause instanceof TimeoutException ? "timed out" : cause.getMessage());
+                        unavailable.add(section);
+                        return null;
+                }
+        }
+
+        private record SummaryKey(UUID projectId, Set<SummaryField> fields) {
         }
 }
@@ -0,0 +1,99 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Where deployment sync left off for an integration. {@code backfillCursor} is
+ * the {@code until} timestamp of the next older page still to fetch.
+ */
+@Entity
+@Table(name = "vercelSyncStates")
+public class VercelSyncState {
+
+    @Id
+    @GeneratedValue
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "integrationId", nullable = false, unique = true)
+    private UUID integrationId;
+
+    // Lets webhook events, which name the Vercel project, find the integration
+    @Column(name = "vercelProjectId")
+    private String vercelProjectId;
+
+    @Column(name = "backfillCursor")
+    private Long backfillCursor;
+
+    @Column(name = "backfillComplete", nullable = false)
+    private boolean backfillComplete;
+
+    @Column(name = "newestCreatedAt")
+    private Long newestCreatedAt;
+
+    @Column(name = "lastSyncAt")
+    private OffsetDateTime lastSyncAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getIntegrationId() {
+        return integrationId;
+    }
+
+    public void setIntegrationId(UUID integrationId) {
+        this.integrationId = integrationId;
+    }
+
+    public String getVercelProjectId() {
+        return vercelProjectId;
+    }
+
+    public void setVercelProjectId(String vercelProjectId) {
+        this.vercelProjectId = vercelProjectId;
+    }
+
+    public Long getBackfillCursor() {
+        return backfillCursor;
+    }
+
+    public void setBackfillCursor(Long backfillCursor) {
+        this.backfillCursor = backfillCursor;
+    }
+
+    public boolean isBackfillComplete() {
+        return backfillComplete;
+    }
+
+    public void setBackfillComplete(boolean backfillComplete) {
+        this.backfillComplete = backfillComplete;
+    }
+
+    public Long getNewestCreatedAt() {
+        return newestCreatedAt;
+    }
+
+    public void setNewestCreatedAt(Long newestCreatedAt) {
+        this.newestCreatedAt = newestCreatedAt;
+    }
+
+    public OffsetDateTime getLastSyncAt() {
+        return lastSyncAt;
+    }
+
+    public void setLastSyncAt(OffsetDateTime lastSyncAt) {
+        this.lastSyncAt = lastSyncAt;
+    }
+}
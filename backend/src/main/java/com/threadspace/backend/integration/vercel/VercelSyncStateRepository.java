@@ -0,0 +1,14 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface VercelSyncStateRepository extends JpaRepository<VercelSyncState, UUID> {
+
+    Optional<VercelSyncState> findByIntegrationId(UUID integrationId);
+
+    List<VercelSyncState> findByVercelProjectId(String vercelProjectId);
+}
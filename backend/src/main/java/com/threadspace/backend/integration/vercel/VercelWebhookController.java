@@ -0,0 +1,56 @@
+package com.threadspace.backend.integration.vercel;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/vercel/webhooks")
+public class VercelWebhookController {
+
+    private static final Logger log = LoggerFactory.getLogger(VercelWebhookController.class);
+
+    private final VercelWebhookService webhookService;
+    private final ObjectMapper objectMapper;
+
+    public VercelWebhookController(VercelWebhookService webhookService, ObjectMapper objectMapper) {
+        this.webhookService = webhookService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Receives deployment, domain and env events. The body is read raw so the
+     * signature is checked over exactly the bytes Vercel signed.
+     */
+    @PostMapping
+    public ResponseEntity<Void> receive(
+            @RequestBody byte[] body,
+            @RequestHeader(name = "x-vercel-signature", required = false) String signature) {
+        if (!webhookService.isSignatureValid(body, signature)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        JsonNode event;
+        try {
+            event = objectMapper.readTree(body);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            webhookService.handle(event);
+        } catch (Exception e) {
+            log.error("Failed to apply Vercel webhook {}", event.path("id").asText(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+        return ResponseEntity.ok().build();
+    }
+}
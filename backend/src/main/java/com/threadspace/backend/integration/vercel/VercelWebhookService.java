@@ -0,0 +1,151 @@
+package com.threadspace.backend.integration.vercel;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.threadspace.backend.integration.core.Integration;
+import com.threadspace.backend.integration.core.IntegrationRepository;
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelDeployment;
+
+/**
+ * Applies Vercel webhook events to local state.
+ *
+ * Deployment events are written straight into the deployment history, and
+ * every event drops the cached Vercel responses for the project it names, so
+ * the next summary reflects the change without waiting for a TTL or a sync.
+ * The response cache is per replica; other replicas serve their copies until
+ * the endpoint TTL expires.
+ */
+@Service
+public class VercelWebhookService {
+
+    private static final Logger log = LoggerFactory.getLogger(VercelWebhookService.class);
+
+    private final VercelSyncStateRepository syncStateRepository;
+    private final IntegrationRepository integrationRepository;
+    private final IntegrationSecretCache secretCache;
+    private final VercelDeploymentService deploymentService;
+    private final VercelResponseCache responseCache;
+    private final String webhookSecret;
+
+    public VercelWebhookService(VercelSyncStateRepository syncStateRepository,
+            IntegrationRepository integrationRepository,
+            IntegrationSecretCache secretCache,
+            VercelDeploymentService deploymentService,
+            VercelResponseCache responseCache,
+            @Value("${VERCEL_WEBHOOK_SECRET:}") String webhookSecret) {
+        this.syncStateRepository = syncStateRepository;
+        this.integrationRepository = integrationRepository;
+        this.secretCache = secretCache;
+        this.deploymentService = deploymentService;
+        this.responseCache = responseCache;
+        this.webhookSecret = webhookSecret;
+    }
+
+    /**
+     * Checks the {@code x-vercel-signature} header, a hex HMAC-SHA1 of the raw
+     * body keyed with the webhook secret. Always false if no secret is set.
+     */
+    public boolean isSignatureValid(byte[] body, String signature) {
+        if (webhookSecret == null || webhookSecret.isBlank() || signature == null) {
+            return false;
+        }
+        try {
+            Mac mac = Mac.getInstance("HmacSHA1");
+            mac.init(new SecretKeySpec(webhookSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+            byte[] expected = HexFormat.of().formatHex(mac.doFinal(body)).getBytes(StandardCharsets.UTF_8);
+            return MessageDigest.isEqual(expected, signature.trim().toLowerCase().getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalStateException("HmacSHA1 not available", e);
+        }
+    }
+
+    @Transactional
+    public void handle(JsonNode event) {
+        String type = event.path("type").asText("");
+        JsonNode payload = event.path("payload");
+        String vercelProjectId = payload.path("project").path("id").asText(null);
+        if (vercelProjectId == null) {
+            vercelProjectId = payload.path("projectId").asText(null);
+        }
+        if (vercelProjectId == null) {
+            log.debug("Ignoring Vercel webhook {} without a project", type);
+            return;
+        }
+
+        responseCache.invalidateProject(vercelProjectId);
+
+        List<VercelSyncState> states = syncStateRepository.findByVercelProjectId(vercelProjectId);
+        for (VercelSyncState state : states) {
+            Integration integration = integrationRepository.findById(state.getIntegrationId()).orElse(null);
+            if (integration == null) {
+                continue;
+            }
+            // Project lookups are cached under the project name rather than its id
+            String projectName = projectName(integration);
+            if (projectName != null) {
+                responseCache.invalidateProject(projectName);
+            }
+
+            if (type.startsWith("deployment.")) {
+                applyDeployment(integration, type, event, payload);
+            }
+        }
+    }
+
+    private void applyDeployment(Integration integration, String type, JsonNode event, JsonNode payload) {
+        JsonNode deployment = payload.path("deployment");
+        String deploymentId = deployment.path("id").asText(null);
+        if (deploymentId == null) {
+            return;
+        }
+
+        long at = event.path("createdAt").asLong(System.currentTimeMillis());
+        boolean created = type.equals("deployment.created");
+        Long createdAt = deployment.path("createdAt").canConvertToLong()
+                ? Long.valueOf(deployment.path("createdAt").asLong())
+                : created ? Long.valueOf(at) : null;
+        String state = switch (type) {
+            case "deployment.created" -> "BUILDING";
+            case "deployment.succeeded", "deployment.ready" -> "READY";
+            case "deployment.error" -> "ERROR";
+            case "deployment.canceled" -> "CANCELED";
+            default -> null;
+        };
+
+        boolean stored = deploymentService.apply(integration, new VercelDeployment(
+                deploymentId,
+                deployment.path("url").asText(null),
+                state,
+                payload.path("target").asText(null),
+                createdAt,
+                created ? at : null,
+                "READY".equals(state) ? at : null), at);
+        if (!stored) {
+            log.debug("Skipping Vercel {} for unknown deployment {} without a creation time", type, deploymentId);
+        }
+    }
+
+    private String projectName(Integration integration) {
+        try {
+            return secretCache.get(integration, VercelSecretPayload.class).payload().projectName();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+-- The failure each counted recovery was measured from, so a failure synced
+-- after its recovery can still extend it.
+ALTER TABLE vercel_deployments ADD COLUMN recovery_from bigint;
@@ -0,0 +1,4 @@
+-- The sync scheduler polls for due rows in next_run_at order.
+
+CREATE INDEX IF NOT EXISTS integration_sync_states_due_idx
+    ON integration_sync_states (next_run_at, integration_id);
@@ -0,0 +1,6 @@
+-- Fencing tokens for sync leases: every claim that changes hands gets a new one.
+
+CREATE SEQUENCE integration_sync_lease_fence_seq;
+
+ALTER TABLE integration_sync_leases
+    ADD COLUMN fence bigint NOT NULL DEFAULT nextval('integration_sync_lease_fence_seq');
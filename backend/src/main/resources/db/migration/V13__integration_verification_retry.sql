@@ -0,0 +1,8 @@
+-- Verification retries: transient failures keep an integration PENDING and
+-- schedule another attempt, and a sweep picks up verifications that never ran.
+
+ALTER TABLE integrations ADD COLUMN verification_attempts integer NOT NULL DEFAULT 0;
+ALTER TABLE integrations ADD COLUMN next_verification_at timestamp(6) with time zone;
+
+CREATE INDEX IF NOT EXISTS integrations_pending_verification_idx
+    ON integrations (next_verification_at) WHERE status = 'PENDING';
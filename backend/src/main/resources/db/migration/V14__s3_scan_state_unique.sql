@@ -0,0 +1,24 @@
+-- One scan state per bucket and per bucket prefix, so concurrent scans upsert
+-- rather than insert duplicates. Keeps the most recently written duplicate.
+
+DELETE FROM s3bucket_scan_states a
+    USING s3bucket_scan_states b
+    WHERE a.integration_id = b.integration_id
+      AND a.bucket_name = b.bucket_name
+      AND (a.last_scan_at, a.id) < (b.last_scan_at, b.id);
+
+DELETE FROM s3prefix_scan_states a
+    USING s3prefix_scan_states b
+    WHERE a.integration_id = b.integration_id
+      AND a.bucket_name = b.bucket_name
+      AND a.prefix = b.prefix
+      AND (a.last_listed_at, a.id) < (b.last_listed_at, b.id);
+
+-- The unique indexes also serve the per-integration lookups
+DROP INDEX IF EXISTS s3bucket_scan_states_integration_idx;
+DROP INDEX IF EXISTS s3prefix_scan_states_integration_idx;
+
+CREATE UNIQUE INDEX s3bucket_scan_states_bucket_key
+    ON s3bucket_scan_states (integration_id, bucket_name);
+CREATE UNIQUE INDEX s3prefix_scan_states_prefix_key
+    ON s3prefix_scan_states (integration_id, bucket_name, prefix);
@@ -0,0 +1,8 @@
+-- Asynchronous verification: integrations wait in PENDING and land in
+-- CONNECTED or VERIFICATION_FAILED, with the reason kept in status_detail.
+
+ALTER TABLE integrations ADD COLUMN IF NOT EXISTS status_detail varchar(500);
+
+ALTER TABLE integrations DROP CONSTRAINT IF EXISTS integrations_status_check;
+ALTER TABLE integrations ADD CONSTRAINT integrations_status_check
+    CHECK (status IN ('PENDING', 'CONNECTED', 'ERROR', 'VERIFICATION_FAILED', 'REVOKED'));
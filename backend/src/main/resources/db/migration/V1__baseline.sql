@@ -0,0 +1,44 @@
+-- Schema as Hibernate created it before migrations were introduced.
+-- Existing databases are baselined at this version and skip this script.
+
+CREATE TABLE IF NOT EXISTS users (
+    id uuid PRIMARY KEY,
+    email varchar(255) NOT NULL UNIQUE,
+    name varchar(255),
+    provider varchar(255) NOT NULL,
+    provider_id varchar(255) NOT NULL UNIQUE,
+    created_at timestamp(6) with time zone,
+    updated_at timestamp(6) with time zone
+);
+
+CREATE TABLE IF NOT EXISTS projects (
+    id uuid PRIMARY KEY,
+    name varchar(255) NOT NULL,
+    description varchar(255),
+    type varchar(255) NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL,
+    user_id uuid NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS integrations (
+    id uuid PRIMARY KEY,
+    project_id uuid NOT NULL,
+    type varchar(255) NOT NULL
+        CONSTRAINT integrations_type_check CHECK (type IN ('VERCEL', 'AWS', 'APPLE_CONNECT', 'STRIPE')),
+    status varchar(255) NOT NULL
+        CONSTRAINT integrations_status_check CHECK (status IN ('PENDING', 'CONNECTED', 'ERROR', 'REVOKED')),
+    display_name varchar(255) NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS integration_secrets (
+    id uuid PRIMARY KEY,
+    integration_id uuid NOT NULL UNIQUE,
+    provider varchar(255) NOT NULL
+        CONSTRAINT integration_secrets_provider_check CHECK (provider IN ('VERCEL', 'AWS', 'APPLE_CONNECT', 'STRIPE')),
+    secret_json oid NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL
+);
@@ -0,0 +1,90 @@
+-- Tables and columns added since the baseline. IF NOT EXISTS because
+-- databases that ran with Hibernate schema updates may already have them.
+
+CREATE TABLE IF NOT EXISTS s3bucket_scan_states (
+    id uuid PRIMARY KEY,
+    integration_id uuid NOT NULL,
+    bucket_name varchar(255) NOT NULL,
+    last_scan_at timestamp(6) with time zone NOT NULL,
+    object_count bigint NOT NULL,
+    size_bytes bigint NOT NULL,
+    added_bytes bigint NOT NULL,
+    removed_bytes bigint NOT NULL,
+    changed_bytes bigint NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS s3prefix_scan_states (
+    id uuid PRIMARY KEY,
+    integration_id uuid NOT NULL,
+    bucket_name varchar(255) NOT NULL,
+    prefix varchar(255) NOT NULL,
+    object_count bigint NOT NULL,
+    size_bytes bigint NOT NULL,
+    etag_digest bigint NOT NULL,
+    last_modified_watermark timestamp(6) with time zone,
+    last_listed_at timestamp(6) with time zone NOT NULL,
+    unchanged_scans integer NOT NULL,
+    skipped_scans integer NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS s3metrics_snapshots (
+    id uuid PRIMARY KEY,
+    integration_id uuid NOT NULL,
+    project_id uuid NOT NULL,
+    collected_at timestamp(6) with time zone NOT NULL,
+    total_buckets integer NOT NULL,
+    total_objects bigint NOT NULL,
+    total_storage_bytes bigint NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS s3bucket_snapshots (
+    id uuid PRIMARY KEY,
+    snapshot_id uuid NOT NULL,
+    bucket_name varchar(255) NOT NULL,
+    creation_date varchar(255),
+    object_count bigint NOT NULL,
+    size_bytes bigint NOT NULL,
+    region varchar(255),
+    added_bytes bigint NOT NULL,
+    removed_bytes bigint NOT NULL,
+    changed_bytes bigint NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS vercel_sync_states (
+    id uuid PRIMARY KEY,
+    integration_id uuid NOT NULL UNIQUE,
+    vercel_project_id varchar(255),
+    backfill_cursor bigint,
+    backfill_complete boolean NOT NULL,
+    newest_created_at bigint,
+    last_sync_at timestamp(6) with time zone
+);
+
+CREATE TABLE IF NOT EXISTS vercel_deployments (
+    id uuid PRIMARY KEY,
+    integration_id uuid NOT NULL,
+    project_id uuid NOT NULL,
+    deployment_id varchar(255) NOT NULL,
+    url varchar(255),
+    state varchar(255),
+    target varchar(255),
+    created_at bigint NOT NULL,
+    building_at bigint,
+    ready_at bigint,
+    rolled_up boolean DEFAULT false NOT NULL,
+    UNIQUE (integration_id, deployment_id)
+);
+
+CREATE TABLE IF NOT EXISTS vercel_deployment_rollups (
+    id uuid PRIMARY KEY,
+    integration_id uuid NOT NULL,
+    granularity varchar(255) NOT NULL CHECK (granularity IN ('HOUR', 'DAY', 'WEEK')),
+    bucket_start bigint NOT NULL,
+    deployments bigint NOT NULL,
+    failures bigint NOT NULL,
+    builds bigint NOT NULL,
+    total_build_millis bigint NOT NULL,
+    recoveries bigint NOT NULL,
+    total_recovery_millis bigint NOT NULL,
+    UNIQUE (integration_id, granularity, bucket_start)
+);
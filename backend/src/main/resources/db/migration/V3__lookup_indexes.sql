@@ -0,0 +1,19 @@
+-- Indexes for the lookups the read paths and background jobs run.
+
+CREATE INDEX IF NOT EXISTS integrations_project_type_idx ON integrations (project_id, type);
+CREATE INDEX IF NOT EXISTS integrations_type_status_idx ON integrations (type, status);
+CREATE INDEX IF NOT EXISTS projects_user_id_idx ON projects (user_id);
+
+CREATE INDEX IF NOT EXISTS s3metrics_snapshots_integration_collected_idx
+    ON s3metrics_snapshots (integration_id, collected_at DESC);
+CREATE INDEX IF NOT EXISTS s3metrics_snapshots_collected_idx ON s3metrics_snapshots (collected_at);
+CREATE INDEX IF NOT EXISTS s3bucket_snapshots_snapshot_idx ON s3bucket_snapshots (snapshot_id, bucket_name);
+CREATE INDEX IF NOT EXISTS s3bucket_scan_states_integration_idx ON s3bucket_scan_states (integration_id);
+CREATE INDEX IF NOT EXISTS s3prefix_scan_states_integration_idx ON s3prefix_scan_states (integration_id);
+
+CREATE INDEX IF NOT EXISTS vercel_deployments_history_idx
+    ON vercel_deployments (integration_id, created_at DESC, deployment_id DESC);
+CREATE INDEX IF NOT EXISTS vercel_deployments_state_idx ON vercel_deployments (integration_id, state, created_at);
+CREATE INDEX IF NOT EXISTS vercel_deployments_target_state_idx
+    ON vercel_deployments (integration_id, target, state, created_at);
+CREATE INDEX IF NOT EXISTS vercel_sync_states_vercel_project_idx ON vercel_sync_states (vercel_project_id);
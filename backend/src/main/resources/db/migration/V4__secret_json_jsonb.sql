@@ -0,0 +1,15 @@
+-- Move integration secrets out of large objects into an inline jsonb column,
+-- so a secret is read with its row instead of through a separate lo fetch
+-- that only works inside a transaction.
+
+ALTER TABLE integration_secrets ADD COLUMN secret_json_doc jsonb;
+
+UPDATE integration_secrets
+SET secret_json_doc = convert_from(lo_get(secret_json), 'UTF8')::jsonb;
+
+-- Free the large objects now that their contents have been copied
+SELECT lo_unlink(secret_json) FROM integration_secrets;
+
+ALTER TABLE integration_secrets DROP COLUMN secret_json;
+ALTER TABLE integration_secrets RENAME COLUMN secret_json_doc TO secret_json;
+ALTER TABLE integration_secrets ALTER COLUMN secret_json SET NOT NULL;
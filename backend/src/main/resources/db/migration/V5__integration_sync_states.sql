@@ -0,0 +1,12 @@
+-- Per-integration bookkeeping for the background sync scheduler.
+
+CREATE TABLE integration_sync_states (
+    id uuid PRIMARY KEY,
+    integration_id uuid NOT NULL UNIQUE,
+    next_run_at timestamp(6) with time zone NOT NULL,
+    last_started_at timestamp(6) with time zone,
+    last_success_at timestamp(6) with time zone,
+    last_failure_at timestamp(6) with time zone,
+    consecutive_failures integer NOT NULL,
+    last_error varchar(500)
+);
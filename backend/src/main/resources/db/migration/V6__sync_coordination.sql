@@ -0,0 +1,14 @@
+-- Cluster membership and per-integration leases for background sync.
+
+CREATE TABLE sync_nodes (
+    node_id varchar(255) PRIMARY KEY,
+    heartbeat_at timestamp(6) with time zone NOT NULL
+);
+
+CREATE TABLE integration_sync_leases (
+    integration_id uuid PRIMARY KEY,
+    owner varchar(255) NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX integration_sync_leases_owner_idx ON integration_sync_leases (owner);
@@ -0,0 +1,3 @@
+-- Buckets that could not be read are stored with their error instead of zeros.
+
+ALTER TABLE s3bucket_snapshots ADD COLUMN error varchar(1000);
@@ -0,0 +1,8 @@
+-- S3 keys, and so prefixes, can be up to 1024 bytes.
+ALTER TABLE s3prefix_scan_states ALTER COLUMN prefix TYPE varchar(1024);
+
+-- Buckets with too many top-level prefixes are listed in one pass.
+ALTER TABLE s3bucket_scan_states ADD COLUMN listed_whole boolean DEFAULT false NOT NULL;
+
+-- When the oldest part of an incremental bucket total was listed.
+ALTER TABLE s3bucket_snapshots ADD COLUMN as_of timestamp(6) with time zone;
@@ -0,0 +1,3 @@
+-- When each deployment's stored state was observed, so late webhook events
+-- and stale sync pages cannot move it back.
+ALTER TABLE vercel_deployments ADD COLUMN state_at bigint;
@@ -0,0 +1,122 @@
+package com.threadspace.backend.integration.aws;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CommonPrefix;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchBucketException;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Publisher;
+
+/**
+ * In-memory buckets behind a mocked {@link S3AsyncClient}. Listings honour
+ * prefix and delimiter and come back a few entries per page, and every list
+ * request is recorded.
+ */
+class FakeS3 {
+
+    private static final int PAGE_SIZE = 2;
+
+    private final Map<String, TreeMap<String, S3Object>> buckets = new ConcurrentHashMap<>();
+    private final List<ListObjectsV2Request> requests = Collections.synchronizedList(new ArrayList<>());
+    private final S3AsyncClient client = mock(S3AsyncClient.class);
+
+    FakeS3() {
+        when(client.listObjectsV2Paginator(any(ListObjectsV2Request.class)))
+                .thenAnswer(call -> new ListObjectsV2Publisher(client, call.getArgument(0)));
+        when(client.listObjectsV2(any(ListObjectsV2Request.class)))
+                .thenAnswer(call -> list(call.getArgument(0)));
+    }
+
+    S3AsyncClient client() {
+        return client;
+    }
+
+    void put(String bucket, String key, long size, String eTag, Instant lastModified) {
+        buckets.computeIfAbsent(bucket, name -> new TreeMap<>()).put(key, S3Object.builder()
+                .key(key)
+                .size(size)
+                .eTag(eTag)
+                .lastModified(lastModified)
+                .build());
+    }
+
+    void delete(String bucket, String key) {
+        buckets.get(bucket).remove(key);
+    }
+
+    List<ListObjectsV2Request> requests() {
+        return List.copyOf(requests);
+    }
+
+    /**
+     * Number of listings of {@code prefix} without a delimiter.
+     */
+    long listings(String prefix) {
+        return requests().stream()
+                .filter(request -> request.delimiter() == null)
+                .filter(request -> prefix.equals(request.prefix() != null ? request.prefix() : ""))
+                .count();
+    }
+
+    private CompletableFuture<ListObjectsV2Response> list(ListObjectsV2Request request) {
+        requests.add(request);
+        TreeMap<String, S3Object> objects = buckets.get(request.bucket());
+        if (objects == null) {
+            return CompletableFuture.failedFuture(NoSuchBucketException.builder()
+                    .message("The specified bucket does not exist")
+                    .build());
+        }
+
+        String prefix = request.prefix() != null ? request.prefix() : "";
+        List<Object> entries = new ArrayList<>();
+        String lastCommonPrefix = null;
+        for (S3Object object : objects.tailMap(prefix).values()) {
+            if (!object.key().startsWith(prefix)) {
+                break;
+            }
+            int slash = request.delimiter() != null ? object.key().indexOf('/', prefix.length()) : -1;
+            if (slash < 0) {
+                entries.add(object);
+                continue;
+            }
+            String commonPrefix = object.key().substring(0, slash + 1);
+            if (!commonPrefix.equals(lastCommonPrefix)) {
+                entries.add(CommonPrefix.builder().prefix(commonPrefix).build());
+                lastCommonPrefix = commonPrefix;
+            }
+        }
+
+        int start = request.continuationToken() != null ? Integer.parseInt(request.continuationToken()) : 0;
+        int end = Math.min(entries.size(), start + PAGE_SIZE);
+        List<S3Object> contents = new ArrayList<>();
+        List<CommonPrefix> commonPrefixes = new ArrayList<>();
+        for (Object entry : entries.subList(start, end)) {
+            if (entry instanceof S3Object object) {
+                contents.add(object);
+            } else {
+                commonPrefixes.add((CommonPrefix) entry);
+            }
+        }
+
+        return CompletableFuture.completedFuture(ListObjectsV2Response.builder()
+                .contents(contents)
+                .commonPrefixes(commonPrefixes)
+                .isTruncated(end < entries.size())
+                .nextContinuationToken(end < entries.size() ? Integer.toString(end) : null)
+                .build());
+    }
+}
@@ -0,0 +1,126 @@
+package com.threadspace.backend.integration.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.threadspace.backend.integration.aws.AwsS3Service.S3BucketInfo;
+import com.threadspace.backend.integration.aws.S3RegionResolver.RoutedBucket;
+
+import software.amazon.awssdk.services.s3.model.Bucket;
+
+class S3BucketScannerTests {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final AwsConnection connection = new AwsConnection(UUID.randomUUID(), 1,
+            new AwsSecretPayload("key", "secret", "us-east-1", null, false));
+    private final FakeS3 s3 = new FakeS3();
+
+    private S3BucketScanner scanner;
+
+    @BeforeEach
+    void setUp() {
+        S3RegionResolver regionResolver = mock(S3RegionResolver.class);
+        when(regionResolver.route(any(), any())).thenAnswer(call -> CompletableFuture.completedFuture(
+                new RoutedBucket(call.getArgument(1), "eu-west-1", s3.client())));
+        scanner = new S3BucketScanner(regionResolver, mock(S3InventorySource.class), 2);
+    }
+
+    @Test
+    void totalsEveryPageOfEachBucket() {
+        for (int i = 0; i < 5; i++) {
+            s3.put("logs", "2024/" + i + ".log", 10, "e" + i, T0);
+        }
+        s3.put("assets", "logo.png", 7, "e", T0);
+
+        List<S3BucketInfo> buckets = scanner.scanBuckets(connection, List.of(bucket("logs"), bucket("assets")))
+                .join();
+
+        assertEquals("logs", buckets.get(0).name());
+        assertEquals(5, buckets.get(0).objectCount());
+        assertEquals(50, buckets.get(0).sizeBytes());
+        assertEquals("eu-west-1", buckets.get(0).region());
+        assertEquals(1, buckets.get(1).objectCount());
+        assertEquals(7, buckets.get(1).sizeBytes());
+    }
+
+    @Test
+    void unreadableBucketIsReportedWithoutFailingTheScan() {
+        s3.put("logs", "a.log", 10, "e", T0);
+        List<String> streamed = Collections.synchronizedList(new ArrayList<>());
+
+        List<S3BucketInfo> buckets = scanner
+                .scanBuckets(connection, List.of(bucket("gone"), bucket("logs")), info -> streamed.add(info.name()))
+                .join();
+
+        assertNotNull(buckets.get(0).error());
+        assertEquals(0, buckets.get(0).objectCount());
+        assertNull(buckets.get(1).error());
+        assertEquals(10, buckets.get(1).sizeBytes());
+        assertEquals(2, streamed.size());
+    }
+
+    @Test
+    void keepsBucketOrderWithBoundedParallelism() {
+        List<Bucket> buckets = List.of(bucket("a"), bucket("b"), bucket("c"), bucket("d"), bucket("e"));
+        Map<String, CompletableFuture<String>> started = new LinkedHashMap<>();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        CompletableFuture<List<String>> result = scanner.scanBuckets(buckets, bucket -> {
+            CompletableFuture<String> scan = new CompletableFuture<>();
+            started.put(bucket.name(), scan);
+            maxRunning.accumulateAndGet((int) started.values().stream().filter(f -> !f.isDone()).count(), Math::max);
+            return scan;
+        });
+
+        // Finish the newest scan first so completions arrive out of order
+        while (!result.isDone()) {
+            String newest = started.entrySet().stream()
+                    .filter(entry -> !entry.getValue().isDone())
+                    .reduce((first, second) -> second)
+                    .orElseThrow()
+                    .getKey();
+            started.get(newest).complete(newest);
+        }
+
+        assertEquals(List.of("a", "b", "c", "d", "e"), result.join());
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    void cancellingStopsFurtherBucketsFromStarting() {
+        List<Bucket> buckets = List.of(bucket("a"), bucket("b"), bucket("c"), bucket("d"));
+        Map<String, CompletableFuture<String>> started = new LinkedHashMap<>();
+
+        CompletableFuture<List<String>> result = scanner.scanBuckets(buckets, bucket -> {
+            CompletableFuture<String> scan = new CompletableFuture<>();
+            started.put(bucket.name(), scan);
+            return scan;
+        });
+        result.cancel(false);
+        List.copyOf(started.entrySet()).forEach(entry -> entry.getValue().complete(entry.getKey()));
+
+        assertEquals(List.of("a", "b"), List.copyOf(started.keySet()));
+    }
+
+    private static Bucket bucket(String name) {
+        return Bucket.builder().name(name).build();
+    }
+}
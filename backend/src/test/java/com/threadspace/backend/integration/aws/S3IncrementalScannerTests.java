@@ -0,0 +1,226 @@
+package com.threadspace.backend.integration.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.threadspace.backend.integration.aws.AwsS3Service.S3BucketInfo;
+import com.threadspace.backend.integration.aws.S3RegionResolver.RoutedBucket;
+
+import software.amazon.awssdk.services.s3.model.Bucket;
+
+class S3IncrementalScannerTests {
+
+    private static final String BUCKET = "data";
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final AwsConnection connection = new AwsConnection(UUID.randomUUID(), 1,
+            new AwsSecretPayload("key", "secret", "us-east-1", null, false));
+    private final List<Bucket> buckets = List.of(Bucket.builder().name(BUCKET).build());
+    private final Map<String, S3BucketScanState> bucketStates = new ConcurrentHashMap<>();
+    private final Map<String, S3PrefixScanState> prefixStates = new ConcurrentHashMap<>();
+    private final FakeS3 s3 = new FakeS3();
+
+    private S3RegionResolver regionResolver;
+    private S3BucketScanStateRepository bucketStateRepository;
+    private S3PrefixScanStateRepository prefixStateRepository;
+
+    @BeforeEach
+    void setUp() {
+        s3.put(BUCKET, "root.txt", 5, "r", T0);
+        s3.put(BUCKET, "a/1", 100, "a1", T0);
+        s3.put(BUCKET, "a/2", 200, "a2", T0);
+        s3.put(BUCKET, "b/1", 1_000, "b1", T0);
+
+        regionResolver = mock(S3RegionResolver.class);
+        when(regionResolver.route(any(), any())).thenAnswer(call -> CompletableFuture.completedFuture(
+                new RoutedBucket(call.getArgument(1), "us-east-1", s3.client())));
+
+        bucketStateRepository = mock(S3BucketScanStateRepository.class);
+        when(bucketStateRepository.findByIntegrationId(connection.integrationId()))
+                .thenAnswer(call -> List.copyOf(bucketStates.values()));
+        when(bucketStateRepository.upsert(any(), anyString(), any(), anyBoolean(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong())).thenAnswer(call -> {
+                    S3BucketScanState state = new S3BucketScanState();
+                    state.setIntegrationId(call.getArgument(0));
+                    state.setBucketName(call.getArgument(1));
+                    state.setLastScanAt(call.getArgument(2));
+                    state.setListedWhole(call.getArgument(3));
+                    state.setObjectCount(call.getArgument(4));
+                    state.setSizeBytes(call.getArgument(5));
+                    state.setAddedBytes(call.getArgument(6));
+                    state.setRemovedBytes(call.getArgument(7));
+                    state.setChangedBytes(call.getArgument(8));
+                    bucketStates.put(state.getBucketName(), state);
+                    return 1;
+                });
+
+        prefixStateRepository = mock(S3PrefixScanStateRepository.class);
+        // Fresh copies, as a new persistence context would load them
+        when(prefixStateRepository.findByIntegrationId(connection.integrationId()))
+                .thenAnswer(call -> prefixStates.values().stream().map(S3IncrementalScannerTests::copy).toList());
+        when(prefixStateRepository.upsert(any(), anyString(), anyString(), anyLong(), anyLong(), anyLong(), any(),
+                any(), anyInt(), anyInt())).thenAnswer(call -> {
+                    S3PrefixScanState state = new S3PrefixScanState();
+                    state.setIntegrationId(call.getArgument(0));
+                    state.setBucketName(call.getArgument(1));
+                    state.setPrefix(call.getArgument(2));
+                    state.setObjectCount(call.getArgument(3));
+                    state.setSizeBytes(call.getArgument(4));
+                    state.setEtagDigest(call.getArgument(5));
+                    state.setLastModifiedWatermark(call.getArgument(6));
+                    state.setLastListedAt(call.getArgument(7));
+                    state.setUnchangedScans(call.getArgument(8));
+                    state.setSkippedScans(call.getArgument(9));
+                    prefixStates.put(state.getPrefix(), state);
+                    return 1;
+                });
+        when(prefixStateRepository.deleteByKey(any(), anyString(), anyString()))
+                .thenAnswer(call -> prefixStates.remove(call.getArgument(2, String.class)) != null ? 1 : 0);
+    }
+
+    @Test
+    void unchangedPrefixesAreRelistedExponentiallyLessOften() {
+        S3IncrementalScanner scanner = scanner(8, 100);
+
+        List<Integer> listedOn = new ArrayList<>();
+        for (int scan = 1; scan <= 8; scan++) {
+            long before = s3.listings("a/");
+            scanner.scan(connection, buckets, true);
+            if (s3.listings("a/") > before) {
+                listedOn.add(scan);
+            }
+        }
+
+        // Intervals of 1, 1, 2 and then 4 scans as the prefix stays unchanged
+        assertEquals(List.of(1, 2, 4, 8), listedOn);
+        assertEquals(3, prefixStates.get("a/").getUnchangedScans());
+    }
+
+    @Test
+    void digestCatchesRewritesThatKeepCountAndSize() {
+        S3IncrementalScanner scanner = scanner(1, 100);
+        scanner.scan(connection, buckets, true);
+        scanner.scan(connection, buckets, true);
+        long digest = prefixStates.get("a/").getEtagDigest();
+
+        // Same key and size, new content
+        s3.put(BUCKET, "a/1", 100, "a1-v2", T0.plusSeconds(60));
+        S3BucketInfo info = scanner.scan(connection, buckets, true).get(0);
+
+        assertTrue(prefixStates.get("a/").getEtagDigest() != digest);
+        assertEquals(0, prefixStates.get("a/").getUnchangedScans());
+        assertEquals(2, prefixStates.get("b/").getUnchangedScans());
+        assertEquals(100, info.addedBytes());
+        assertEquals(100, info.removedBytes());
+        assertEquals(0, info.changedBytes());
+    }
+
+    @Test
+    void skippedPrefixesCarryTheirTotalsForward() {
+        S3IncrementalScanner scanner = scanner(8, 100);
+        scanner.scan(connection, buckets, true);
+        scanner.scan(connection, buckets, true);
+        OffsetDateTime listedAt = prefixStates.get("a/").getLastListedAt();
+
+        S3BucketInfo info = scanner.scan(connection, buckets, true).get(0);
+
+        assertEquals(2, s3.listings("a/"));
+        assertEquals(4, info.objectCount());
+        assertEquals(1_305, info.sizeBytes());
+        assertEquals(0, info.changedBytes());
+        // Totals are only as fresh as the oldest listing they include
+        assertEquals(listedAt, info.asOf());
+        assertEquals(1, prefixStates.get("a/").getSkippedScans());
+    }
+
+    @Test
+    void onDemandScansDoNotAdvanceTheRelistSchedule() {
+        S3IncrementalScanner scanner = scanner(8, 100);
+        scanner.scan(connection, buckets, true);
+        scanner.scan(connection, buckets, true);
+
+        scanner.scan(connection, buckets, false);
+        scanner.scan(connection, buckets, false);
+
+        assertEquals(2, s3.listings("a/"));
+        assertEquals(0, prefixStates.get("a/").getSkippedScans());
+
+        scanner.scan(connection, buckets, true);
+        assertEquals(1, prefixStates.get("a/").getSkippedScans());
+    }
+
+    @Test
+    void bucketsWithTooManyPrefixesAreListedInOnePass() {
+        s3.put(BUCKET, "c/1", 10, "c1", T0);
+        S3IncrementalScanner scanner = scanner(1, 2);
+
+        S3BucketInfo first = scanner.scan(connection, buckets, true).get(0);
+        int requests = s3.requests().size();
+        scanner.scan(connection, buckets, true);
+
+        assertTrue(bucketStates.get(BUCKET).isListedWhole());
+        assertEquals(5, prefixStates.get("").getObjectCount());
+        assertEquals(1, prefixStates.size());
+        assertEquals(5, first.objectCount());
+        assertEquals(1_315, first.sizeBytes());
+        // Later scans go straight to the single pass, without a delimited listing
+        assertFalse(s3.requests().subList(requests, s3.requests().size()).stream()
+                .anyMatch(request -> request.delimiter() != null));
+    }
+
+    @Test
+    void removedPrefixCountsAsRemovedBytes() {
+        S3IncrementalScanner scanner = scanner(1, 100);
+        scanner.scan(connection, buckets, true);
+
+        s3.delete(BUCKET, "b/1");
+        S3BucketInfo info = scanner.scan(connection, buckets, true).get(0);
+
+        assertFalse(prefixStates.containsKey("b/"));
+        assertEquals(1_000, info.removedBytes());
+        assertEquals(-1_000, info.changedBytes());
+        assertEquals(305, info.sizeBytes());
+    }
+
+    private S3IncrementalScanner scanner(int maxRelistInterval, int maxPrefixes) {
+        S3BucketScanner bucketScanner = new S3BucketScanner(regionResolver, mock(S3InventorySource.class), 4);
+        return new S3IncrementalScanner(bucketScanner, regionResolver, bucketStateRepository,
+                prefixStateRepository, mock(PlatformTransactionManager.class), maxRelistInterval, maxPrefixes);
+    }
+
+    private static S3PrefixScanState copy(S3PrefixScanState state) {
+        S3PrefixScanState copy = new S3PrefixScanState();
+        copy.setIntegrationId(state.getIntegrationId());
+        copy.setBucketName(state.getBucketName());
+        copy.setPrefix(state.getPrefix());
+        copy.setObjectCount(state.getObjectCount());
+        copy.setSizeBytes(state.getSizeBytes());
+        copy.setEtagDigest(state.getEtagDigest());
+        copy.setLastModifiedWatermark(state.getLastModifiedWatermark());
+        copy.setLastListedAt(state.getLastListedAt());
+        copy.setUnchangedScans(state.getUnchangedScans());
+        copy.setSkippedScans(state.getSkippedScans());
+        return copy;
+    }
+}
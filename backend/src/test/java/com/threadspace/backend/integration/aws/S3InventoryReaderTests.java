@@ -0,0 +1,93 @@
+package com.threadspace.backend.integration.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadspace.backend.integration.aws.S3InventoryReader.InventoryManifest;
+import com.threadspace.backend.integration.aws.S3PrefixAggregator.S3BucketBreakdown;
+
+class S3InventoryReaderTests {
+
+    private final S3InventoryReader reader = new S3InventoryReader(new ObjectMapper());
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void aggregatesCurrentVersionsFromLocalReport() throws IOException {
+        writeGzip("files/part-0.csv.gz", """
+                "src","logs/2024/a.log","v1","true","false","100","2024-01-01T00:00:00.000Z","e1","STANDARD"
+                "src","logs/2024/b.log","v2","false","false","999","2024-01-01T00:00:00.000Z","e2","STANDARD"
+                "src","logs/2024/c.log","v3","true","true","","2024-01-01T00:00:00.000Z","","STANDARD"
+                """);
+        writeGzip("files/part-1.csv.gz", """
+                "src","images/cat%20photo.png","v4","true","false","250","2024-01-01T00:00:00.000Z","e4","GLACIER"
+                "src","readme.txt","v5","true","false","5","2024-01-01T00:00:00.000Z","e5","STANDARD"
+                """);
+        Files.writeString(dir.resolve("manifest.json"), """
+                {
+                  "sourceBucket": "src",
+                  "destinationBucket": "arn:aws:s3:::inventory",
+                  "fileFormat": "CSV",
+                  "fileSchema": "Bucket, Key, VersionId, IsLatest, IsDeleteMarker, Size, LastModifiedDate, ETag, StorageClass",
+                  "files": [
+                    { "key": "files/part-0.csv.gz", "size": 1 },
+                    { "key": "files/part-1.csv.gz", "size": 1 }
+                  ]
+                }
+                """);
+
+        InventoryManifest manifest;
+        try (InputStream in = Files.newInputStream(dir.resolve("manifest.json"))) {
+            manifest = reader.readManifest(in);
+        }
+        S3PrefixAggregator aggregator = new S3PrefixAggregator(1, 100);
+        reader.aggregate(manifest, key -> Files.newInputStream(dir.resolve(key)), aggregator);
+
+        S3BucketBreakdown breakdown = aggregator.toBreakdown("src", "us-east-1");
+        assertEquals(3, breakdown.objectCount());
+        assertEquals(355, breakdown.sizeBytes());
+        assertEquals(2, breakdown.prefixes().size());
+        assertEquals("images/", breakdown.prefixes().get(0).prefix());
+        assertEquals("GLACIER", breakdown.prefixes().get(0).storageClasses().get(0).storageClass());
+        assertEquals(100, breakdown.prefixes().get(1).sizeBytes());
+    }
+
+    @Test
+    void rejectsColumnarFormats() {
+        InventoryManifest manifest = new InventoryManifest("src", "arn:aws:s3:::inventory", "Parquet",
+                "Bucket, Key, Size", List.of());
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> reader.aggregate(manifest, key -> InputStream.nullInputStream(),
+                        new S3PrefixAggregator(0, 0)));
+    }
+
+    @Test
+    void decodesKeysWithoutFormSemantics() {
+        assertEquals("a+b c/d%", S3InventoryReader.decodeKey("a+b%20c%2Fd%25"));
+        assertEquals("caf\u00e9.txt", S3InventoryReader.decodeKey("caf%C3%A9.txt"));
+        assertEquals("plain/key", S3InventoryReader.decodeKey("plain/key"));
+    }
+
+    private void writeGzip(String key, String content) throws IOException {
+        Path file = dir.resolve(key);
+        Files.createDirectories(file.getParent());
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.threadspace.backend.integration.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.threadspace.backend.integration.aws.S3PrefixAggregator.PrefixTotal;
+import com.threadspace.backend.integration.aws.S3PrefixAggregator.S3BucketBreakdown;
+import com.threadspace.backend.integration.aws.S3PrefixAggregator.StorageClassTotal;
+
+class S3PrefixAggregatorTests {
+
+    @Test
+    void rollsUpByPrefixToTheRequestedDepth() {
+        S3PrefixAggregator aggregator = new S3PrefixAggregator(2, 100);
+        aggregator.add("logs/2024/a.log", 100, null);
+        aggregator.add("logs/2024/b.log", 50, "STANDARD");
+        aggregator.add("logs/2023/deep/c.log", 10, "GLACIER");
+        aggregator.add("readme.txt", 1, "");
+
+        S3BucketBreakdown breakdown = aggregator.toBreakdown("bucket", "us-east-1");
+
+        assertEquals(4, breakdown.objectCount());
+        assertEquals(161, breakdown.sizeBytes());
+        assertFalse(breakdown.truncated());
+
+        PrefixTotal logs = breakdown.prefixes().get(0);
+        assertEquals("logs/", logs.prefix());
+        assertEquals(160, logs.sizeBytes());
+        // Children are ordered by size, and nothing is tracked past the depth
+        assertEquals(List.of("logs/2024/", "logs/2023/"), logs.prefixes().stream().map(PrefixTotal::prefix).toList());
+        assertTrue(logs.prefixes().get(1).prefixes().isEmpty());
+    }
+
+    @Test
+    void splitsTotalsByStorageClass() {
+        S3PrefixAggregator aggregator = new S3PrefixAggregator(0, 0);
+        aggregator.add("a", 100, null);
+        aggregator.add("b", 300, "GLACIER");
+        aggregator.add("c", 5, "STANDARD");
+
+        List<StorageClassTotal> classes = aggregator.toBreakdown("bucket", "us-east-1").storageClasses();
+
+        assertEquals(List.of(new StorageClassTotal("GLACIER", 1, 300), new StorageClassTotal("STANDARD", 2, 105)),
+                classes);
+    }
+
+    @Test
+    void countsNewPrefixesPastTheLimitAtTheirAncestor() {
+        S3PrefixAggregator aggregator = new S3PrefixAggregator(2, 2);
+        aggregator.add("a/x/1", 1, null);
+        aggregator.add("b/y/1", 10, null);
+        aggregator.add("a/z/1", 100, null);
+
+        S3BucketBreakdown breakdown = aggregator.toBreakdown("bucket", "us-east-1");
+
+        // a/ and a/x/ use up the limit, so b/ stays at the root and a/z/ under a/
+        assertTrue(breakdown.truncated());
+        assertEquals(111, breakdown.sizeBytes());
+        assertEquals(1, breakdown.prefixes().size());
+        PrefixTotal a = breakdown.prefixes().get(0);
+        assertEquals("a/", a.prefix());
+        assertEquals(101, a.sizeBytes());
+        assertEquals(List.of("a/x/"), a.prefixes().stream().map(PrefixTotal::prefix).toList());
+    }
+
+    @Test
+    void rejectsNegativeDepth() {
+        assertThrows(IllegalArgumentException.class, () -> new S3PrefixAggregator(-1, 10));
+    }
+}
@@ -0,0 +1,88 @@
+package com.threadspace.backend.integration.aws;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.Bucket;
+import software.amazon.awssdk.services.s3.model.GetBucketLocationRequest;
+import software.amazon.awssdk.services.s3.model.GetBucketLocationResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+class S3RegionResolverTests {
+
+    private final AwsConnection connection = new AwsConnection(UUID.randomUUID(), 1,
+            new AwsSecretPayload("key", "secret", "us-west-2", null, false));
+
+    private AwsClientRegistry clientRegistry;
+    private S3AsyncClient homeClient;
+    private S3RegionResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        clientRegistry = mock(AwsClientRegistry.class);
+        homeClient = mock(S3AsyncClient.class);
+        when(clientRegistry.s3(connection)).thenReturn(homeClient);
+        resolver = new S3RegionResolver(clientRegistry, 100);
+    }
+
+    @Test
+    void normalizesLegacyLocationConstraints() {
+        assertEquals("us-east-1", S3RegionResolver.normalize(null));
+        assertEquals("us-east-1", S3RegionResolver.normalize(""));
+        assertEquals("eu-west-1", S3RegionResolver.normalize("EU"));
+        assertEquals("ap-south-1", S3RegionResolver.normalize("ap-south-1"));
+    }
+
+    @Test
+    void concurrentLookupsShareOneCall() {
+        CompletableFuture<GetBucketLocationResponse> location = new CompletableFuture<>();
+        when(homeClient.getBucketLocation(any(GetBucketLocationRequest.class))).thenReturn(location);
+
+        CompletableFuture<String> first = resolver.resolveRegion(connection, "logs");
+        CompletableFuture<String> second = resolver.resolveRegion(connection, "logs");
+        location.complete(GetBucketLocationResponse.builder().locationConstraint("eu-central-1").build());
+
+        assertEquals("eu-central-1", first.join());
+        assertEquals("eu-central-1", second.join());
+        assertEquals("eu-central-1", resolver.resolveRegion(connection, "logs").join());
+        verify(homeClient, times(1)).getBucketLocation(any(GetBucketLocationRequest.class));
+    }
+
+    @Test
+    void failedLookupFallsBackToHomeRegionAndIsRetried() {
+        when(homeClient.getBucketLocation(any(GetBucketLocationRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(S3Exception.builder().message("Access Denied").build()))
+                .thenReturn(CompletableFuture.completedFuture(GetBucketLocationResponse.builder().build()));
+
+        assertEquals("us-west-2", resolver.resolveRegion(connection, "logs").join());
+        assertEquals("us-east-1", resolver.resolveRegion(connection, "logs").join());
+        verify(homeClient, times(2)).getBucketLocation(any(GetBucketLocationRequest.class));
+    }
+
+    @Test
+    void routesThroughAClientForTheBucketRegion() {
+        S3AsyncClient regionalClient = mock(S3AsyncClient.class);
+        when(clientRegistry.s3(eq(connection), eq("eu-west-1"))).thenReturn(regionalClient);
+        when(homeClient.getBucketLocation(any(GetBucketLocationRequest.class))).thenReturn(
+                CompletableFuture.completedFuture(GetBucketLocationResponse.builder().locationConstraint("EU").build()));
+
+        S3RegionResolver.RoutedBucket routed = resolver.route(connection, Bucket.builder().name("logs").build())
+                .join();
+
+        assertEquals("eu-west-1", routed.region());
+        assertSame(regionalClient, routed.client());
+    }
+}
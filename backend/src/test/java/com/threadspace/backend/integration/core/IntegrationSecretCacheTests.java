@@ -0,0 +1,107 @@
+package com.threadspace.backend.integration.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class IntegrationSecretCacheTests {
+
+    private final UUID projectId = UUID.randomUUID();
+    private final List<IntegrationWithSecret> stored = new ArrayList<>();
+
+    private IntegrationRepository repository;
+    private IntegrationSecretCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IntegrationRepository.class);
+        when(repository.findWithSecret(projectId, IntegrationType.VERCEL)).thenAnswer(call -> List.copyOf(stored));
+        cache = new IntegrationSecretCache(repository, new ObjectMapper(), 10, 60_000);
+    }
+
+    @Test
+    void servesRepeatedReadsFromCache() {
+        store(IntegrationStatus.CONNECTED, "first");
+
+        cache.get(projectId, IntegrationType.VERCEL, Map.class);
+        cache.get(projectId, IntegrationType.VERCEL, Map.class);
+
+        verify(repository, times(1)).findWithSecret(projectId, IntegrationType.VERCEL);
+    }
+
+    @Test
+    void statusChangeEvictsByProjectAndType() {
+        Integration integration = store(IntegrationStatus.PENDING, "first");
+        assertEquals(IntegrationStatus.PENDING,
+                cache.get(projectId, IntegrationType.VERCEL, Map.class).status());
+
+        integration.setIntegrationStatus(IntegrationStatus.CONNECTED);
+        cache.onStatusChanged(new IntegrationStatusChanged(integration.getId(), projectId, IntegrationType.VERCEL,
+                IntegrationStatus.CONNECTED));
+
+        assertEquals(IntegrationStatus.CONNECTED,
+                cache.get(projectId, IntegrationType.VERCEL, Map.class).status());
+    }
+
+    @Test
+    void savedCredentialsReplaceCachedOnes() {
+        Integration integration = store(IntegrationStatus.CONNECTED, "first");
+        cache.get(projectId, IntegrationType.VERCEL, Map.class);
+
+        stored.get(0).secret().setSecretJson("{\"apiToken\":\"second\"}");
+        cache.onVerificationRequested(new IntegrationVerificationRequested(integration.getId(), projectId,
+                IntegrationType.VERCEL));
+
+        assertEquals("second", cache.get(projectId, IntegrationType.VERCEL, Map.class).payload().get("apiToken"));
+    }
+
+    @Test
+    void expiredEntriesPickUpChangesFromOtherNodes() {
+        cache = new IntegrationSecretCache(repository, new ObjectMapper(), 10, 0);
+        store(IntegrationStatus.CONNECTED, "first");
+        cache.get(projectId, IntegrationType.VERCEL, Map.class);
+
+        // Rotated through another node, so no local event evicts the entry
+        stored.get(0).secret().setSecretJson("{\"apiToken\":\"second\"}");
+
+        assertEquals("second", cache.get(projectId, IntegrationType.VERCEL, Map.class).payload().get("apiToken"));
+    }
+
+    @Test
+    void otherIntegrationOfTheSameTypeIsReadDirectly() {
+        store(IntegrationStatus.CONNECTED, "connected");
+        Integration pending = store(IntegrationStatus.PENDING, "pending");
+
+        assertEquals("pending", cache.get(pending, Map.class).payload().get("apiToken"));
+        assertEquals("connected", cache.get(projectId, IntegrationType.VERCEL, Map.class).payload().get("apiToken"));
+    }
+
+    private Integration store(IntegrationStatus status, String token) {
+        Integration integration = new Integration();
+        integration.setId(UUID.randomUUID());
+        integration.setProjectId(projectId);
+        integration.setIntegrationType(IntegrationType.VERCEL);
+        integration.setIntegrationStatus(status);
+
+        IntegrationSecret secret = new IntegrationSecret();
+        secret.setIntegrationId(integration.getId());
+        secret.setSecretJson("{\"apiToken\":\"" + token + "\"}");
+        secret.setUpdatedAt(OffsetDateTime.now());
+
+        stored.add(new IntegrationWithSecret(integration, secret));
+        return integration;
+    }
+}
@@ -0,0 +1,165 @@
+package com.threadspace.backend.integration.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class IntegrationSyncCoordinatorTests {
+
+    private static final List<String> NODES = List.of("node-a", "node-b", "node-c");
+
+    private final List<String> liveNodes = new ArrayList<>(NODES);
+    private final SyncNodeRepository nodeRepository = mock(SyncNodeRepository.class);
+    private final IntegrationSyncLeaseRepository leaseRepository = mock(IntegrationSyncLeaseRepository.class);
+
+    @Test
+    void everyIntegrationHasExactlyOneOwner() {
+        Map<String, IntegrationSyncCoordinator> nodes = nodes();
+        Map<String, Integer> owned = new HashMap<>();
+
+        for (int i = 0; i < 3_000; i++) {
+            UUID integrationId = UUID.randomUUID();
+            List<String> owners = NODES.stream().filter(node -> nodes.get(node).isAssigned(integrationId)).toList();
+            assertEquals(1, owners.size());
+            owned.merge(owners.get(0), 1, Integer::sum);
+        }
+
+        // Roughly even: each node gets a third, give or take
+        owned.values().forEach(count -> assertTrue(count > 800 && count < 1_200, owned.toString()));
+    }
+
+    @Test
+    void nodeLeavingOnlyMovesItsOwnIntegrations() {
+        List<UUID> integrations = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            integrations.add(UUID.randomUUID());
+        }
+        Map<UUID, String> before = owners(nodes(), integrations);
+
+        liveNodes.remove("node-c");
+        Map<UUID, String> after = owners(nodes(), integrations);
+
+        for (UUID integrationId : integrations) {
+            if (!before.get(integrationId).equals("node-c")) {
+                assertEquals(before.get(integrationId), after.get(integrationId));
+            }
+        }
+    }
+
+    @Test
+    void nodeWithFailingHeartbeatsOwnsNothing() {
+        IntegrationSyncCoordinator coordinator = coordinator("node-a");
+
+        assertFalse(coordinator.isAssigned(UUID.randomUUID()));
+        assertFalse(coordinator.isLeader());
+    }
+
+    @Test
+    void lowestLiveNodeLeads() {
+        Map<String, IntegrationSyncCoordinator> nodes = nodes();
+
+        assertTrue(nodes.get("node-a").isLeader());
+        assertFalse(nodes.get("node-b").isLeader());
+        assertFalse(nodes.get("node-c").isLeader());
+    }
+
+    @Test
+    void concurrentClaimsGrantTheLeaseOnce() throws Exception {
+        // Stands in for the conditional upsert: one owner until released
+        Map<UUID, Long> leases = new HashMap<>();
+        AtomicLong fences = new AtomicLong();
+        when(leaseRepository.claim(any(), anyString(), anyLong())).thenAnswer(call -> {
+            synchronized (leases) {
+                UUID integrationId = call.getArgument(0);
+                if (leases.containsKey(integrationId)) {
+                    return Optional.empty();
+                }
+                long fence = fences.incrementAndGet();
+                leases.put(integrationId, fence);
+                return Optional.of(fence);
+            }
+        });
+        when(leaseRepository.extend(any(), anyLong(), anyLong())).thenAnswer(call -> {
+            synchronized (leases) {
+                return Long.valueOf(call.getArgument(1, Long.class)).equals(leases.get(call.getArgument(0))) ? 1 : 0;
+            }
+        });
+
+        Map<String, IntegrationSyncCoordinator> nodes = nodes();
+        UUID integrationId = UUID.randomUUID();
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> claims = new ArrayList<>();
+            for (int i = 0; i < 60; i++) {
+                IntegrationSyncCoordinator node = nodes.get(NODES.get(i % NODES.size()));
+                claims.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    node.claim(integrationId).ifPresent(fence -> granted.incrementAndGet());
+                }, pool));
+            }
+            start.countDown();
+            CompletableFuture.allOf(claims.toArray(CompletableFuture[]::new)).get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(1, granted.get());
+        long current = leases.get(integrationId);
+        assertTrue(nodes.get("node-a").confirm(integrationId, current));
+        assertFalse(nodes.get("node-a").confirm(integrationId, current - 1));
+    }
+
+    private Map<UUID, String> owners(Map<String, IntegrationSyncCoordinator> nodes, List<UUID> integrations) {
+        Map<UUID, String> owners = new HashMap<>();
+        for (UUID integrationId : integrations) {
+            nodes.forEach((node, coordinator) -> {
+                if (coordinator.isAssigned(integrationId)) {
+                    owners.put(integrationId, node);
+                }
+            });
+        }
+        return owners;
+    }
+
+    private Map<String, IntegrationSyncCoordinator> nodes() {
+        when(nodeRepository.findLiveNodeIds(anyLong())).thenReturn(List.copyOf(liveNodes));
+        Map<String, IntegrationSyncCoordinator> nodes = new HashMap<>();
+        for (String node : liveNodes) {
+            IntegrationSyncCoordinator coordinator = coordinator(node);
+            coordinator.heartbeat();
+            nodes.put(node, coordinator);
+        }
+        return nodes;
+    }
+
+    private IntegrationSyncCoordinator coordinator(String nodeId) {
+        return new IntegrationSyncCoordinator(nodeRepository, leaseRepository, nodeId, 15_000, 15_000);
+    }
+}
@@ -0,0 +1,205 @@
+package com.threadspace.backend.integration.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+class IntegrationSyncSchedulerTests {
+
+    private static final int BATCH_SIZE = 3;
+    private static final long FENCE = 42;
+
+    private final List<IntegrationWithSyncState> due = new ArrayList<>();
+    private final Set<UUID> synced = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> fenced = ConcurrentHashMap.newKeySet();
+
+    private IntegrationRepository integrationRepository;
+    private IntegrationSyncStateRepository syncStateRepository;
+    private IntegrationSyncCoordinator coordinator;
+    private IntegrationSyncScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        integrationRepository = mock(IntegrationRepository.class);
+        syncStateRepository = mock(IntegrationSyncStateRepository.class);
+        coordinator = mock(IntegrationSyncCoordinator.class);
+
+        when(integrationRepository.findDueForSync(any(), any(Limit.class)))
+                .thenAnswer(call -> page(null, null, call.getArgument(1, Limit.class)));
+        when(integrationRepository.findDueForSyncAfter(any(), any(), any(), any(Limit.class)))
+                .thenAnswer(call -> page(call.getArgument(1), call.getArgument(2), call.getArgument(3, Limit.class)));
+        when(syncStateRepository.findByIntegrationId(any())).thenAnswer(call -> due.stream()
+                .map(IntegrationWithSyncState::state)
+                .filter(state -> state.getIntegrationId().equals(call.getArgument(0)))
+                .findFirst());
+        when(coordinator.claim(any())).thenReturn(Optional.of(FENCE));
+        when(coordinator.fence(any(), eq(FENCE)))
+                .thenAnswer(call -> (IntegrationSyncFence) () -> fenced.add(call.getArgument(0)));
+        when(syncStateRepository.recordRun(any(), eq(FENCE), any(), any(), any(), any(), anyInt(), any()))
+                .thenReturn(1);
+
+        IntegrationProvider provider = mock(IntegrationProvider.class);
+        when(provider.getType()).thenReturn(IntegrationType.AWS);
+        when(provider.createSyncTask(any())).thenAnswer(call -> {
+            Integration integration = call.getArgument(0);
+            return Optional.of(new IntegrationSyncTask(Duration.ofMinutes(15),
+                    fence -> {
+                        fence.check();
+                        synced.add(integration.getId());
+                    }));
+        });
+
+        scheduler = new IntegrationSyncScheduler(integrationRepository, syncStateRepository, coordinator,
+                List.of(provider), 4, 0.1, 60_000, 3_600_000, BATCH_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.destroy();
+    }
+
+    @Test
+    void pagesPastRowsAssignedToOtherNodes() throws Exception {
+        OffsetDateTime base = OffsetDateTime.now().minusMinutes(10);
+        List<UUID> mine = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Integration integration = addDue(base.plusSeconds(i));
+            // Only the last two rows belong to this node
+            if (i >= 6) {
+                mine.add(integration.getId());
+            }
+        }
+        when(coordinator.isAssigned(any())).thenAnswer(call -> mine.contains(call.getArgument(0)));
+
+        scheduler.dispatchDue();
+
+        awaitSynced(2);
+        assertEquals(Set.copyOf(mine), synced);
+    }
+
+    @Test
+    void pagesThroughRowsDueAtTheSameInstant() throws Exception {
+        OffsetDateTime at = OffsetDateTime.now().minusMinutes(1);
+        for (int i = 0; i < 7; i++) {
+            addDue(at);
+        }
+        when(coordinator.isAssigned(any())).thenReturn(true);
+
+        scheduler.dispatchDue();
+
+        awaitSynced(7);
+        assertEquals(7, synced.size());
+    }
+
+    @Test
+    void anyNodeSchedulesFirstRuns() {
+        Integration integration = integration();
+        when(integrationRepository.findConnectedWithoutSyncState(any(Limit.class))).thenReturn(List.of(integration));
+        when(coordinator.isAssigned(any())).thenReturn(false);
+
+        scheduler.dispatchDue();
+
+        verify(syncStateRepository).save(argThat(
+                state -> state.getIntegrationId().equals(integration.getId())
+                        && state.getNextRunAt().isAfter(OffsetDateTime.now().minusSeconds(1))));
+    }
+
+    @Test
+    void skipsSyncThatAnotherNodeJustRan() throws Exception {
+        Integration integration = addDue(OffsetDateTime.now().minusMinutes(1));
+        when(coordinator.isAssigned(any())).thenReturn(true);
+        // Ran elsewhere between the poll and the lease being taken
+        when(syncStateRepository.findByIntegrationId(integration.getId()))
+                .thenReturn(Optional.of(state(integration, OffsetDateTime.now().plusMinutes(15))));
+
+        scheduler.dispatchDue();
+
+        verify(coordinator, timeout(1_000)).release(integration.getId(), FENCE);
+        assertTrue(synced.isEmpty());
+        verify(syncStateRepository, never()).recordRun(any(), anyLong(), any(), any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void recordsResultOnlyWhileLeaseIsCurrent() throws Exception {
+        Integration kept = addDue(OffsetDateTime.now().minusMinutes(2));
+        Integration lost = addDue(OffsetDateTime.now().minusMinutes(1));
+        when(coordinator.isAssigned(any())).thenReturn(true);
+        // The lease lapsed during the sync and another node claimed it
+        when(syncStateRepository.recordRun(eq(lost.getId()), eq(FENCE), any(), any(), any(), any(), anyInt(), any()))
+                .thenReturn(0);
+
+        scheduler.dispatchDue();
+
+        verify(coordinator, timeout(1_000)).release(kept.getId(), FENCE);
+        verify(coordinator, timeout(1_000)).release(lost.getId(), FENCE);
+        assertEquals(Set.of(kept.getId(), lost.getId()), synced);
+        verify(syncStateRepository).recordRun(eq(kept.getId()), eq(FENCE), any(), any(), any(), any(), eq(0), any());
+        // Task writes were checked against the lease the run claimed
+        assertEquals(synced, fenced);
+    }
+
+    private List<IntegrationWithSyncState> page(OffsetDateTime afterRunAt, UUID afterId, Limit limit) {
+        return due.stream()
+                .sorted(Comparator.comparing((IntegrationWithSyncState row) -> row.state().getNextRunAt())
+                        .thenComparing(row -> row.state().getIntegrationId()))
+                .filter(row -> afterRunAt == null
+                        || row.state().getNextRunAt().isAfter(afterRunAt)
+                        || row.state().getNextRunAt().isEqual(afterRunAt)
+                                && row.state().getIntegrationId().compareTo(afterId) > 0)
+                .limit(limit.max())
+                .toList();
+    }
+
+    private Integration addDue(OffsetDateTime nextRunAt) {
+        Integration integration = integration();
+        due.add(new IntegrationWithSyncState(integration, state(integration, nextRunAt)));
+        return integration;
+    }
+
+    private static Integration integration() {
+        Integration integration = new Integration();
+        integration.setId(UUID.randomUUID());
+        integration.setIntegrationType(IntegrationType.AWS);
+        integration.setIntegrationStatus(IntegrationStatus.CONNECTED);
+        return integration;
+    }
+
+    private static IntegrationSyncState state(Integration integration, OffsetDateTime nextRunAt) {
+        IntegrationSyncState state = new IntegrationSyncState();
+        state.setIntegrationId(integration.getId());
+        state.setNextRunAt(nextRunAt);
+        return state;
+    }
+
+    private void awaitSynced(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (synced.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.threadspace.backend.integration.core;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+class IntegrationVerifierTests {
+
+    private IntegrationRepository repository;
+    private IntegrationProvider provider;
+    private ApplicationEventPublisher eventPublisher;
+    private IntegrationSyncCoordinator coordinator;
+    private IntegrationVerifier verifier;
+    private Integration integration;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(IntegrationRepository.class);
+        provider = mock(IntegrationProvider.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        coordinator = mock(IntegrationSyncCoordinator.class);
+        when(provider.getType()).thenReturn(IntegrationType.VERCEL);
+
+        integration = new Integration();
+        integration.setId(UUID.randomUUID());
+        integration.setProjectId(UUID.randomUUID());
+        integration.setIntegrationType(IntegrationType.VERCEL);
+        integration.requestVerification();
+
+        when(repository.claimVerification(eq(integration.getId()), any(), any(), anyLong())).thenReturn(1);
+        when(repository.completeVerification(eq(integration.getId()), any(), anyString(), any())).thenReturn(1);
+
+        verifier = new IntegrationVerifier(repository, List.of(provider), eventPublisher, coordinator,
+                300_000, 30_000, 1_800_000, 3);
+    }
+
+    @Test
+    void acceptedCredentialsConnect() {
+        verifier.verify(integration);
+
+        verify(repository).completeVerification(integration.getId(), integration.getUpdatedAt(), "CONNECTED", null);
+        verify(eventPublisher).publishEvent(new IntegrationStatusChanged(integration.getId(),
+                integration.getProjectId(), IntegrationType.VERCEL, IntegrationStatus.CONNECTED));
+    }
+
+    @Test
+    void rejectedCredentialsFailWithoutRetry() {
+        doThrow(new IllegalArgumentException("Invalid Vercel apiToken")).when(provider).verify(integration);
+
+        verifier.verify(integration);
+
+        verify(repository).completeVerification(integration.getId(), integration.getUpdatedAt(),
+                "VERIFICATION_FAILED", "Invalid Vercel apiToken");
+        verify(repository, never()).retryVerification(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    void transientFailureStaysPendingAndBacksOff() {
+        doThrow(new IllegalStateException("timed out")).when(provider).verify(integration);
+
+        verifier.verify(integration);
+        integration.setVerificationAttempts(1);
+        verifier.verify(integration);
+
+        verify(repository).retryVerification(integration.getId(), integration.getUpdatedAt(), "timed out", 30_000);
+        verify(repository).retryVerification(integration.getId(), integration.getUpdatedAt(), "timed out", 60_000);
+        verify(repository, never()).completeVerification(any(), any(), anyString(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        doThrow(new IllegalStateException("timed out")).when(provider).verify(integration);
+        integration.setVerificationAttempts(2);
+
+        verifier.verify(integration);
+
+        verify(repository).completeVerification(integration.getId(), integration.getUpdatedAt(),
+                "VERIFICATION_FAILED", "timed out");
+    }
+
+    @Test
+    void attemptTakenByAnotherNodeIsSkipped() {
+        when(repository.claimVerification(eq(integration.getId()), any(), any(), anyLong())).thenReturn(0);
+
+        verifier.verify(integration);
+
+        verify(provider, never()).verify(any());
+    }
+
+    @Test
+    void outcomeForReplacedCredentialsIsDropped() {
+        // The credentials were updated while the old ones were being checked
+        when(repository.completeVerification(eq(integration.getId()), any(), anyString(), any())).thenReturn(0);
+
+        verifier.verify(integration);
+
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void onlyTheLeaderSweeps() {
+        when(repository.findDueForVerification(any(), any(), any(Limit.class))).thenReturn(List.of(integration));
+
+        when(coordinator.isLeader()).thenReturn(false);
+        verifier.sweep();
+        verify(provider, never()).verify(any());
+
+        when(coordinator.isLeader()).thenReturn(true);
+        verifier.sweep();
+        verify(provider).verify(integration);
+        verify(repository).findDueForVerification(any(), any(OffsetDateTime.class), eq(Limit.of(20)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.threadspace.backend.integration.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class LruCacheTests {
+
+    @Test
+    void dropsLeastRecentlyUsedWhenFull() {
+        LruCache<String, Integer> cache = new LruCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+        cache.put("c", 3);
+
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(1, cache.evictions());
+    }
+
+    @Test
+    void removeIfDoesNotCountAsEviction() {
+        LruCache<String, Integer> cache = new LruCache<>(10);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+
+        assertEquals(2, cache.removeIf((key, value) -> value % 2 == 1));
+        assertEquals(1, cache.size());
+        assertEquals(0, cache.evictions());
+    }
+
+    @Test
+    void concurrentComputeIfAbsentCreatesOneValuePerKey() throws Exception {
+        LruCache<Integer, Object> cache = new LruCache<>(1000);
+        AtomicInteger created = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(CompletableFuture.supplyAsync(() -> {
+                    await(start);
+                    return cache.computeIfAbsent(7, key -> {
+                        created.incrementAndGet();
+                        return new Object();
+                    });
+                }, pool));
+            }
+            start.countDown();
+
+            Object first = results.get(0).get();
+            for (CompletableFuture<Object> result : results) {
+                assertSame(first, result.get());
+            }
+            assertEquals(1, created.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void staysWithinBoundUnderConcurrentWrites() throws Exception {
+        LruCache<Integer, Integer> cache = new LruCache<>(100);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Void>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int offset = t * 10_000;
+                writers.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        cache.put(offset + i, i);
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(writers.toArray(CompletableFuture[]::new)).get();
+
+            assertEquals(100, cache.size());
+            assertEquals(80_000 - 100, cache.evictions());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
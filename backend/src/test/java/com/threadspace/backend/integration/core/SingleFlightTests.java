@@ -0,0 +1,142 @@
+package com.threadspace.backend.integration.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTests {
+
+    private static final int THREADS = 16;
+
+    private final SingleFlight<String, Integer> flight = new SingleFlight<>();
+    private final ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch entered = new CountDownLatch(THREADS);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // One caller per thread, so none can start after the load has finished
+        List<Future<Integer>> callers = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            callers.add(pool.submit(() -> {
+                entered.countDown();
+                return flight.execute("project", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return 7;
+                });
+            }));
+        }
+        assertTrue(entered.await(2, TimeUnit.SECONDS));
+        awaitLoads(loads, 1);
+        // Let every caller reach the in-flight load before it finishes
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<Integer> caller : callers) {
+            assertEquals(7, caller.get(2, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, flight.size());
+    }
+
+    @Test
+    void differentKeysLoadIndependently() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        Future<Integer> first = pool.submit(() -> flight.execute("a", () -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            return 1;
+        }));
+        Future<Integer> second = pool.submit(() -> flight.execute("b", () -> {
+            bothStarted.countDown();
+            await(bothStarted);
+            return 2;
+        }));
+
+        assertEquals(1, first.get(2, TimeUnit.SECONDS));
+        assertEquals(2, second.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void waitersSeeTheLoadersFailureAndNextCallRetries() throws Exception {
+        IllegalStateException failure = new IllegalStateException("upstream down");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        List<Future<Integer>> callers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            callers.add(pool.submit(() -> flight.execute("project", () -> {
+                loads.incrementAndGet();
+                await(release);
+                throw failure;
+            })));
+        }
+        awaitLoads(loads, 1);
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<Integer> caller : callers) {
+            ExecutionException e = assertThrows(ExecutionException.class, () -> caller.get(2, TimeUnit.SECONDS));
+            assertSame(failure, e.getCause());
+        }
+        assertEquals(1, loads.get());
+        assertEquals(3, flight.execute("project", () -> 3));
+    }
+
+    @Test
+    void errorsAlsoReleaseWaiters() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<Integer> loader = pool.submit(() -> flight.execute("project", () -> {
+            loads.incrementAndGet();
+            await(release);
+            throw new AssertionError("boom");
+        }));
+        awaitLoads(loads, 1);
+        Future<Integer> waiter = pool.submit(() -> flight.execute("project", () -> 1));
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThrows(ExecutionException.class, () -> loader.get(2, TimeUnit.SECONDS));
+        assertThrows(ExecutionException.class, () -> waiter.get(2, TimeUnit.SECONDS));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitLoads(AtomicInteger loads, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (loads.get() < count && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.threadspace.backend.integration.vercel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadspace.backend.integration.vercel.VercelDtos.ProjectSummary;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelDeployment;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelDomain;
+
+class SummaryFieldTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parsesCamelCaseNamesAndIgnoresBlanks() {
+        assertEquals(EnumSet.of(SummaryField.NAME, SummaryField.LATEST_DEPLOYMENT, SummaryField.DOMAINS),
+                SummaryField.parse(" name, latestDeployment,,domains "));
+        assertEquals(EnumSet.allOf(SummaryField.class), SummaryField.parse(null));
+        assertEquals(EnumSet.allOf(SummaryField.class), SummaryField.parse(" "));
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> SummaryField.parse("name,secrets"));
+        assertEquals("Unknown summary field: secrets", e.getMessage());
+    }
+
+    @Test
+    void defaultPayloadKeepsNullsAndOmitsLatestDeployment() throws Exception {
+        ProjectSummary summary = new ProjectSummary("prj_1", "web", null, null,
+                new VercelDeployment("dpl_1", null, "READY", null, 1L, null, null),
+                List.of(), List.of(), List.of(), List.of());
+
+        assertEquals("{\"id\":\"prj_1\",\"name\":\"web\",\"framework\":null,\"repo\":null,"
+                + "\"domains\":[],\"envs\":[],\"deployments\":[],\"unavailable\":[]}",
+                objectMapper.writeValueAsString(summary));
+    }
+
+    @Test
+    void selectionHoldsOnlyRequestedFieldsInDeclaredOrder() throws Exception {
+        VercelDeployment latest = new VercelDeployment("dpl_1", "web.vercel.app", "READY", "production", 1L,
+                null, null);
+        ProjectSummary summary = new ProjectSummary(null, "web", null, null, latest,
+                List.of(new VercelDomain("web.dev", true, true)), null, null, List.of("domains"));
+
+        Map<String, Object> selected = SummaryField.select(summary,
+                SummaryField.parse("domains,framework,latestDeployment,name"));
+
+        assertEquals(List.of("name", "framework", "latestDeployment", "domains", "unavailable"),
+                List.copyOf(selected.keySet()));
+        assertEquals(latest, selected.get("latestDeployment"));
+        assertEquals("{\"name\":\"web\",\"framework\":null,\"latestDeployment\":{\"id\":\"dpl_1\","
+                + "\"url\":\"web.vercel.app\",\"state\":\"READY\",\"target\":\"production\",\"createdAt\":1,"
+                + "\"buildingAt\":null,\"readyAt\":null},\"domains\":[{\"name\":\"web.dev\",\"verified\":true,"
+                + "\"primary\":true}],\"unavailable\":[\"domains\"]}",
+                objectMapper.writeValueAsString(selected));
+    }
+}
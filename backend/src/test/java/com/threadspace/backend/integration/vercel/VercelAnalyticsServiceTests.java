@@ -0,0 +1,205 @@
+package com.threadspace.backend.integration.vercel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.threadspace.backend.integration.core.Integration;
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
+
+class VercelAnalyticsServiceTests {
+
+    private final List<VercelDeploymentRecord> deployments = new ArrayList<>();
+    private final Set<UUID> claimed = new HashSet<>();
+    private final Map<UUID, Long> storedRecoveryFrom = new HashMap<>();
+    private final long[] weekly = new long[6];
+
+    private Integration integration;
+    private VercelAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        integration = new Integration();
+        integration.setId(UUID.randomUUID());
+
+        VercelDeploymentRecordRepository repository = mock(VercelDeploymentRecordRepository.class);
+        when(repository.claimRollup(any())).thenAnswer(call -> claimed.add(call.getArgument(0)) ? 1 : 0);
+        when(repository.moveRecoveryFrom(any(), any(), anyLong())).thenAnswer(call -> {
+            UUID id = call.getArgument(0);
+            if (!Objects.equals(storedRecoveryFrom.get(id), call.getArgument(1))) {
+                return 0;
+            }
+            storedRecoveryFrom.put(id, call.getArgument(2));
+            return 1;
+        });
+        when(repository.findByIntegrationIdAndRolledUpFalseAndStateInOrderByCreatedAtAscDeploymentIdAsc(
+                any(), any(), any(Pageable.class)))
+                .thenAnswer(call -> deployments.stream()
+                        .filter(d -> !d.isRolledUp())
+                        .filter(d -> VercelAnalyticsService.FINAL_STATES.contains(d.getState()))
+                        .sorted(Comparator.comparingLong(VercelDeploymentRecord::getCreatedAt))
+                        .limit(call.getArgument(2, Pageable.class).getPageSize())
+                        .toList());
+        when(repository.findFirstByIntegrationIdAndTargetAndStateAndCreatedAtLessThanOrderByCreatedAtDesc(
+                any(), anyString(), anyString(), anyLong()))
+                .thenAnswer(call -> find(call.getArgument(1), call.getArgument(2),
+                        d -> d.getCreatedAt() < call.getArgument(3, Long.class),
+                        Comparator.comparingLong(VercelDeploymentRecord::getCreatedAt).reversed()));
+        when(repository.findFirstByIntegrationIdAndTargetAndStateAndCreatedAtBetweenOrderByCreatedAtAsc(
+                any(), anyString(), anyString(), anyLong(), anyLong()))
+                .thenAnswer(call -> find(call.getArgument(1), call.getArgument(2),
+                        d -> d.getCreatedAt() >= call.getArgument(3, Long.class)
+                                && d.getCreatedAt() <= call.getArgument(4, Long.class),
+                        Comparator.comparingLong(VercelDeploymentRecord::getCreatedAt)));
+        when(repository.findFirstByIntegrationIdAndTargetAndStateAndCreatedAtGreaterThanOrderByCreatedAtAsc(
+                any(), anyString(), anyString(), anyLong()))
+                .thenAnswer(call -> find(call.getArgument(1), call.getArgument(2),
+                        d -> d.getCreatedAt() > call.getArgument(3, Long.class),
+                        Comparator.comparingLong(VercelDeploymentRecord::getCreatedAt)));
+
+        VercelDeploymentRollupRepository rollups = mock(VercelDeploymentRollupRepository.class);
+        doAnswer(call -> {
+            for (int i = 0; i < weekly.length; i++) {
+                weekly[i] += call.getArgument(3 + i, Long.class);
+            }
+            return null;
+        }).when(rollups).increment(any(), eq("WEEK"), anyLong(), anyLong(), anyLong(), anyLong(), anyLong(),
+                anyLong(), anyLong());
+
+        service = new VercelAnalyticsService(mock(IntegrationSecretCache.class), repository, rollups);
+    }
+
+    @Test
+    void countsRecoveryWhenFailureAndFixArriveTogether() {
+        store("fix", "READY", 2_000, 2_500L);
+        store("failure", "ERROR", 1_000, null);
+
+        service.recordPending(integration);
+
+        assertEquals(2, deployments());
+        assertEquals(1, failures());
+        assertEquals(1, recoveries());
+        assertEquals(1_500, recoveryMillis());
+    }
+
+    @Test
+    void olderFailureCountedLaterExtendsRecovery() {
+        store("fix", "READY", 2_000, 2_500L);
+        store("failure", "ERROR", 1_000, null);
+        service.recordPending(integration);
+
+        // An older page from backfill
+        store("earlier-failure", "ERROR", 500, null);
+        service.recordPending(integration);
+
+        assertEquals(3, deployments());
+        assertEquals(1, recoveries());
+        assertEquals(2_000, recoveryMillis());
+    }
+
+    @Test
+    void failureBackfilledAfterItsFixAddsTheRecovery() {
+        store("fix", "READY", 2_000, 2_500L);
+        service.recordPending(integration);
+        assertEquals(0, recoveries());
+
+        store("failure", "ERROR", 1_000, null);
+        service.recordPending(integration);
+
+        assertEquals(1, recoveries());
+        assertEquals(1_500, recoveryMillis());
+    }
+
+    @Test
+    void failureBeforeAnEarlierGoodDeploymentDoesNotMoveLaterRecovery() {
+        store("old-failure", "ERROR", 100, null);
+        store("old-fix", "READY", 200, 300L);
+        store("failure", "ERROR", 1_000, null);
+        store("fix", "READY", 2_000, 2_500L);
+        service.recordPending(integration);
+
+        assertEquals(2, recoveries());
+        assertEquals(200 + 1_500, recoveryMillis());
+    }
+
+    @Test
+    void skipsDeploymentClaimedElsewhere() {
+        VercelDeploymentRecord fix = store("fix", "READY", 2_000, 2_500L);
+        claimed.add(fix.getId());
+        fix.setRolledUp(false);
+
+        service.recordPending(integration);
+        service.recordPending(integration);
+
+        assertEquals(0, deployments());
+    }
+
+    @Test
+    void ignoresPreviewFailures() {
+        store("fix", "READY", 2_000, 2_500L);
+        store("preview-failure", "ERROR", 1_000, null).setTarget("preview");
+
+        service.recordPending(integration);
+
+        assertEquals(1, failures());
+        assertEquals(0, recoveries());
+    }
+
+    private VercelDeploymentRecord store(String id, String state, long createdAt, Long readyAt) {
+        VercelDeploymentRecord record = new VercelDeploymentRecord();
+        record.setId(UUID.randomUUID());
+        record.setIntegrationId(integration.getId());
+        record.setDeploymentId(id);
+        record.setState(state);
+        record.setTarget("production");
+        record.setCreatedAt(createdAt);
+        record.setReadyAt(readyAt);
+        deployments.add(record);
+        return record;
+    }
+
+    private Optional<VercelDeploymentRecord> find(String target, String state,
+            Predicate<VercelDeploymentRecord> filter, Comparator<VercelDeploymentRecord> order) {
+        return deployments.stream()
+                .filter(d -> target.equals(d.getTarget()) && state.equals(d.getState()))
+                .filter(filter)
+                .min(order);
+    }
+
+    private long deployments() {
+        return weekly[0];
+    }
+
+    private long failures() {
+        return weekly[1];
+    }
+
+    private long recoveries() {
+        return weekly[4];
+    }
+
+    private long recoveryMillis() {
+        return weekly[5];
+    }
+}
@@ -0,0 +1,128 @@
+package com.threadspace.backend.integration.vercel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelProject;
+
+import reactor.core.publisher.Mono;
+
+class VercelApiClientTests {
+
+    private static final String PATH = "/v9/projects/web";
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<AtomicBoolean> cancelled = new CopyOnWriteArrayList<>();
+
+    @Test
+    void hedgeWinsAndLoserIsCancelledAndSampled() {
+        VercelLatencyTracker tracker = spy(seeded(true));
+        VercelApiClient client = client(tracker, new VercelRateLimiter(100, 100, 100, 5),
+                Duration.ofMillis(800), Duration.ZERO);
+
+        VercelProject project = client.get(PATH, "token", Optional.empty(), VercelProject.class);
+
+        assertEquals("call-2", project.name());
+        assertEquals(2, calls.get());
+        assertTrue(cancelled.get(0).get());
+        // The hedge's response and the cancelled primary
+        verify(tracker, timeout(1_000).times(2)).record(eq(VercelEndpoint.PROJECT), anyLong());
+    }
+
+    @Test
+    void skipsHedgeWhenRateLimitBudgetIsLow() {
+        VercelLatencyTracker tracker = seeded(true);
+        VercelApiClient client = client(tracker, new VercelRateLimiter(0.001, 3, 100, 5),
+                Duration.ofMillis(200), Duration.ZERO);
+
+        VercelProject project = client.get(PATH, "token", Optional.empty(), VercelProject.class);
+
+        assertEquals("call-1", project.name());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void samplesEachUnhedgedCallOnce() {
+        VercelLatencyTracker tracker = spy(seeded(false));
+        VercelApiClient client = client(tracker, new VercelRateLimiter(100, 100, 100, 5),
+                Duration.ZERO, Duration.ZERO);
+
+        client.get(PATH, "token", Optional.empty(), VercelProject.class);
+
+        verify(tracker, timeout(1_000)).record(eq(VercelEndpoint.PROJECT), anyLong());
+        verify(tracker, after(200).times(1)).record(eq(VercelEndpoint.PROJECT), anyLong());
+    }
+
+    @Test
+    void cancellingTheCallCancelsTheRequest() {
+        VercelLatencyTracker tracker = seeded(false);
+        VercelApiClient client = client(tracker, new VercelRateLimiter(100, 100, 100, 5),
+                Duration.ofSeconds(5), Duration.ZERO);
+
+        CompletableFuture<VercelProject> call = client.getAsync(PATH, "token", Optional.empty(),
+                VercelProject.class);
+        call.cancel(true);
+
+        assertTrue(cancelled.get(0).get());
+    }
+
+    @Test
+    void timeoutSurfacesAsGatewayTimeout() {
+        VercelApiClient client = client(new VercelLatencyTracker(256, 100, 100, 2.0, false, 0.05, 50),
+                new VercelRateLimiter(100, 100, 100, 5), Duration.ofSeconds(5), Duration.ZERO);
+
+        VercelApiException e = assertThrows(VercelApiException.class,
+                () -> client.get(PATH, "token", Optional.empty(), VercelProject.class));
+
+        assertEquals(504, e.getStatusCode());
+    }
+
+    private VercelApiClient client(VercelLatencyTracker tracker, VercelRateLimiter rateLimiter,
+            Duration firstDelay, Duration laterDelay) {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> {
+                    int call = calls.incrementAndGet();
+                    AtomicBoolean wasCancelled = new AtomicBoolean();
+                    cancelled.add(wasCancelled);
+                    Duration delay = call == 1 ? firstDelay : laterDelay;
+                    return Mono.delay(delay)
+                            .map(tick -> ClientResponse.create(HttpStatus.OK)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body("{\"id\":\"prj_1\",\"name\":\"call-" + call + "\"}")
+                                    .build())
+                            .doOnCancel(() -> wasCancelled.set(true));
+                })
+                .build();
+        return new VercelApiClient(webClient, new VercelResponseCache(100, 0, 0, 0, 0, 0), rateLimiter, tracker);
+    }
+
+    private static VercelLatencyTracker seeded(boolean hedging) {
+        VercelLatencyTracker tracker = VercelLatencyTrackerTests.tracker(hedging);
+        for (int i = 0; i < 20; i++) {
+            tracker.record(VercelEndpoint.PROJECT, 10);
+        }
+        return tracker;
+    }
+}
@@ -0,0 +1,144 @@
+package com.threadspace.backend.integration.vercel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
+import com.threadspace.backend.integration.core.IntegrationSecretCache.DecodedSecret;
+import com.threadspace.backend.integration.core.IntegrationStatus;
+import com.threadspace.backend.integration.core.IntegrationType;
+import com.threadspace.backend.integration.vercel.VercelDtos.DeploymentPage;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelDeployment;
+
+class VercelDeploymentServiceTests {
+
+    private static final Comparator<VercelDeploymentRecord> NEWEST_FIRST = Comparator
+            .comparingLong(VercelDeploymentRecord::getCreatedAt)
+            .thenComparing(VercelDeploymentRecord::getDeploymentId)
+            .reversed();
+
+    private final UUID projectId = UUID.randomUUID();
+    private final UUID integrationId = UUID.randomUUID();
+    private final List<VercelDeploymentRecord> stored = new ArrayList<>();
+
+    private VercelDeploymentService service;
+
+    @BeforeEach
+    void setUp() {
+        IntegrationSecretCache secretCache = mock(IntegrationSecretCache.class);
+        when(secretCache.get(projectId, IntegrationType.VERCEL, VercelSecretPayload.class))
+                .thenReturn(new DecodedSecret<>(integrationId, projectId, IntegrationStatus.CONNECTED, 1L,
+                        new VercelSecretPayload("token", "web", null)));
+
+        VercelDeploymentRecordRepository repository = mock(VercelDeploymentRecordRepository.class);
+        when(repository.findByIntegrationIdOrderByCreatedAtDescDeploymentIdDesc(eq(integrationId),
+                any(Pageable.class)))
+                .thenAnswer(call -> page(d -> true, call.getArgument(1)));
+        when(repository.findPageBefore(eq(integrationId), anyLong(), anyString(), any(Pageable.class)))
+                .thenAnswer(call -> {
+                    long createdAt = call.getArgument(1);
+                    String deploymentId = call.getArgument(2);
+                    return page(d -> d.getCreatedAt() < createdAt
+                            || d.getCreatedAt() == createdAt && d.getDeploymentId().compareTo(deploymentId) < 0,
+                            call.getArgument(3));
+                });
+
+        service = new VercelDeploymentService(secretCache, repository,
+                mock(VercelSyncStateRepository.class), mock(VercelApiClient.class),
+                mock(TransactionTemplate.class), mock(VercelAnalyticsService.class), 10);
+    }
+
+    @Test
+    void pagesThroughEveryDeploymentOnceNewestFirst() {
+        for (int i = 0; i < 25; i++) {
+            // Several deployments share each timestamp
+            store("dpl_" + i, 1_000L * (i / 4));
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            DeploymentPage page = service.getDeployments(projectId, cursor, 4);
+            page.deployments().forEach(deployment -> seen.add(deployment.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null && pages < 20);
+
+        List<String> expected = stored.stream()
+                .sorted(NEWEST_FIRST)
+                .map(VercelDeploymentRecord::getDeploymentId)
+                .toList();
+        assertEquals(expected, seen);
+        assertEquals(7, pages);
+    }
+
+    @Test
+    void lastFullPageIsFollowedByAnEmptyOne() {
+        for (int i = 0; i < 4; i++) {
+            store("dpl_" + i, i);
+        }
+
+        DeploymentPage first = service.getDeployments(projectId, null, 4);
+        DeploymentPage second = service.getDeployments(projectId, first.nextCursor(), 4);
+
+        assertEquals("0:dpl_0", first.nextCursor());
+        assertEquals(List.of(), second.deployments());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void cursorKeepsDeploymentIdsContainingTheSeparator() {
+        store("dpl:b", 5);
+        store("dpl:a", 5);
+
+        DeploymentPage first = service.getDeployments(projectId, null, 1);
+        DeploymentPage second = service.getDeployments(projectId, first.nextCursor(), 1);
+
+        assertEquals(List.of("dpl:b"), first.deployments().stream().map(VercelDeployment::id).toList());
+        assertEquals(List.of("dpl:a"), second.deployments().stream().map(VercelDeployment::id).toList());
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> service.getDeployments(projectId, "dpl_1", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.getDeployments(projectId, ":dpl_1", 10));
+        assertThrows(IllegalArgumentException.class, () -> service.getDeployments(projectId, "soon:dpl_1", 10));
+    }
+
+    private List<VercelDeploymentRecord> page(Predicate<VercelDeploymentRecord> filter, Pageable pageable) {
+        return stored.stream()
+                .filter(filter)
+                .sorted(NEWEST_FIRST)
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+
+    private void store(String deploymentId, long createdAt) {
+        VercelDeploymentRecord record = new VercelDeploymentRecord();
+        record.setId(UUID.randomUUID());
+        record.setIntegrationId(integrationId);
+        record.setDeploymentId(deploymentId);
+        record.setState("READY");
+        record.setCreatedAt(createdAt);
+        stored.add(record);
+    }
+}
@@ -0,0 +1,93 @@
+package com.threadspace.backend.integration.vercel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+class VercelLatencyTrackerTests {
+
+    @Test
+    void usesMaximumTimeoutAndNoHedgeUntilEnoughSamples() {
+        VercelLatencyTracker tracker = tracker(true);
+        for (int i = 0; i < 19; i++) {
+            tracker.record(VercelEndpoint.PROJECT, 100);
+        }
+
+        assertEquals(Duration.ofMillis(10_000), tracker.timeout(VercelEndpoint.PROJECT));
+        assertEquals(-1, tracker.hedgeDelayMillis(VercelEndpoint.PROJECT));
+    }
+
+    @Test
+    void derivesTimeoutAndHedgeDelayFromPercentiles() {
+        VercelLatencyTracker tracker = tracker(true);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(VercelEndpoint.DOMAINS, i * 10L);
+        }
+
+        // p99 = 990ms, doubled; p95 = 950ms
+        assertEquals(Duration.ofMillis(1_980), tracker.timeout(VercelEndpoint.DOMAINS));
+        assertEquals(950, tracker.hedgeDelayMillis(VercelEndpoint.DOMAINS));
+        assertEquals(Duration.ofMillis(10_000), tracker.timeout(VercelEndpoint.ENV));
+    }
+
+    @Test
+    void clampsTimeoutAndHedgeDelay() {
+        VercelLatencyTracker tracker = tracker(true);
+        for (int i = 0; i < 50; i++) {
+            tracker.record(VercelEndpoint.PROJECT, 5);
+            tracker.record(VercelEndpoint.DEPLOYMENTS, 60_000);
+        }
+
+        assertEquals(Duration.ofMillis(1_000), tracker.timeout(VercelEndpoint.PROJECT));
+        assertEquals(50, tracker.hedgeDelayMillis(VercelEndpoint.PROJECT));
+        assertEquals(Duration.ofMillis(10_000), tracker.timeout(VercelEndpoint.DEPLOYMENTS));
+    }
+
+    @Test
+    void windowForgetsOldSamples() {
+        VercelLatencyTracker tracker = new VercelLatencyTracker(32, 1_000, 10_000, 2.0, true, 0.05, 50);
+        for (int i = 0; i < 32; i++) {
+            tracker.record(VercelEndpoint.PROJECT, 4_000);
+        }
+        for (int i = 0; i < 32; i++) {
+            tracker.record(VercelEndpoint.PROJECT, 600);
+        }
+
+        assertEquals(Duration.ofMillis(1_200), tracker.timeout(VercelEndpoint.PROJECT));
+    }
+
+    @Test
+    void hedgeBudgetRefillsFromPrimaryRequests() {
+        VercelLatencyTracker tracker = tracker(true);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(tracker.tryHedge());
+        }
+        assertFalse(tracker.tryHedge());
+
+        for (int i = 0; i < 19; i++) {
+            tracker.onPrimaryRequest();
+        }
+        assertFalse(tracker.tryHedge());
+        tracker.onPrimaryRequest();
+        tracker.onPrimaryRequest();
+        assertTrue(tracker.tryHedge());
+    }
+
+    @Test
+    void noHedgingWhenDisabled() {
+        VercelLatencyTracker tracker = tracker(false);
+        for (int i = 0; i < 50; i++) {
+            tracker.record(VercelEndpoint.PROJECT, 100);
+        }
+
+        assertEquals(-1, tracker.hedgeDelayMillis(VercelEndpoint.PROJECT));
+    }
+
+    static VercelLatencyTracker tracker(boolean hedging) {
+        return new VercelLatencyTracker(256, 1_000, 10_000, 2.0, hedging, 0.05, 50);
+    }
+}
@@ -0,0 +1,164 @@
+package com.threadspace.backend.integration.vercel;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+class VercelRateLimiterTests {
+
+    @Test
+    void failsFastOnceBurstIsSpent() {
+        VercelRateLimiter limiter = new VercelRateLimiter(0.001, 2, 100, 5);
+        limiter.acquire("token");
+        limiter.acquire("token");
+
+        VercelRateLimitedException e = assertThrows(VercelRateLimitedException.class,
+                () -> limiter.acquire("token"));
+        assertTrue(e.getRetryAfterMillis() > 0);
+        assertDoesNotThrow(() -> limiter.acquire("other-token"));
+    }
+
+    @Test
+    void respectsReportedRemainingBudget() {
+        VercelRateLimiter limiter = new VercelRateLimiter(100, 100, 100, 5);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", "0");
+        headers.set("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 60));
+        limiter.onResponse("token", headers);
+
+        assertThrows(VercelRateLimitedException.class, () -> limiter.acquire("token"));
+    }
+
+    @Test
+    void backsOffExponentiallyWithoutRetryHints() {
+        VercelRateLimiter limiter = new VercelRateLimiter(100, 100, 100, 5);
+        HttpHeaders none = new HttpHeaders();
+
+        long first = limiter.onRateLimited("token", none);
+        long second = limiter.onRateLimited("token", none);
+        long third = limiter.onRateLimited("token", none);
+
+        assertBetween(1000, 1200, first);
+        assertBetween(2000, 2400, second);
+        assertBetween(4000, 4800, third);
+        assertThrows(VercelRateLimitedException.class, () -> limiter.acquire("token"));
+    }
+
+    @Test
+    void successfulResponseResetsBackoff() {
+        VercelRateLimiter limiter = new VercelRateLimiter(100, 100, 100, 5);
+        HttpHeaders none = new HttpHeaders();
+        limiter.onRateLimited("token", none);
+        limiter.onRateLimited("token", none);
+        limiter.onResponse("token", none);
+
+        assertBetween(1000, 1200, limiter.onRateLimited("token", none));
+    }
+
+    @Test
+    void readsRetryAfterAsSecondsOrHttpDate() {
+        long now = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+        String date = DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(Instant.ofEpochMilli(now + 30_000).atZone(ZoneOffset.UTC));
+
+        assertEquals(5000L, VercelRateLimiter.retryAfterMillis("5", now));
+        assertEquals(30_000L, VercelRateLimiter.retryAfterMillis(date, now));
+        assertEquals(0L, VercelRateLimiter.retryAfterMillis("Wed, 31 Dec 2025 23:00:00 GMT", now));
+        assertNull(VercelRateLimiter.retryAfterMillis("soon", now));
+        assertNull(VercelRateLimiter.retryAfterMillis(null, now));
+    }
+
+    @Test
+    void blocksForHttpDateRetryAfter() {
+        VercelRateLimiter limiter = new VercelRateLimiter(100, 100, 100, 5);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, DateTimeFormatter.RFC_1123_DATE_TIME
+                .format(Instant.now().plusSeconds(120).atZone(ZoneOffset.UTC)));
+
+        long wait = limiter.onRateLimited("token", headers);
+
+        assertBetween(115_000, 145_000, wait);
+    }
+
+    @Test
+    void hedgesOnlyFromSpareBudget() {
+        VercelRateLimiter limiter = new VercelRateLimiter(0.001, 7, 100, 5);
+
+        assertTrue(limiter.tryAcquireForHedge("token"));
+        assertTrue(limiter.tryAcquireForHedge("token"));
+        assertFalse(limiter.tryAcquireForHedge("token"));
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("token");
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-RateLimit-Remaining", "3");
+        headers.set("X-RateLimit-Reset", String.valueOf(System.currentTimeMillis() / 1000 + 60));
+        VercelRateLimiter reported = new VercelRateLimiter(100, 100, 100, 5);
+        reported.onResponse("token", headers);
+        assertFalse(reported.tryAcquireForHedge("token"));
+        assertDoesNotThrow(() -> reported.acquire("token"));
+    }
+
+    @Test
+    void keepsOnlyRecentlyUsedTokens() {
+        VercelRateLimiter limiter = new VercelRateLimiter(100, 100, 1, 5);
+        limiter.onRateLimited("first", new HttpHeaders());
+        assertThrows(VercelRateLimitedException.class, () -> limiter.acquire("first"));
+
+        limiter.acquire("second");
+
+        assertDoesNotThrow(() -> limiter.acquire("first"));
+    }
+
+    @Test
+    void concurrentCallersNeverExceedBurst() throws Exception {
+        VercelRateLimiter limiter = new VercelRateLimiter(0.001, 50, 100, 5);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<CompletableFuture<Void>> callers = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                callers.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                        limiter.acquire("token");
+                        granted.incrementAndGet();
+                    } catch (VercelRateLimitedException e) {
+                        // Expected once the burst is spent
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }, pool));
+            }
+            start.countDown();
+            CompletableFuture.allOf(callers.toArray(CompletableFuture[]::new)).get();
+
+            assertEquals(50, granted.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void assertBetween(long min, long max, long actual) {
+        assertTrue(actual >= min && actual <= max, actual + " not in [" + min + ", " + max + "]");
+    }
+}
@@ -0,0 +1,54 @@
+package com.threadspace.backend.integration.vercel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.threadspace.backend.integration.vercel.VercelResponseCache.CacheKey;
+
+class VercelResponseCacheTests {
+
+    @Test
+    void classifiesEndpointFamilies() {
+        assertEquals(VercelEndpoint.PROJECT, VercelEndpoint.of("/v9/projects/web"));
+        assertEquals(VercelEndpoint.DOMAINS, VercelEndpoint.of("/v9/projects/prj_1/domains"));
+        assertEquals(VercelEndpoint.ENV, VercelEndpoint.of("/v10/projects/prj_1/env"));
+        assertEquals(VercelEndpoint.DEPLOYMENTS, VercelEndpoint.of("/v6/deployments?projectId=prj_1&limit=10"));
+        assertEquals(VercelEndpoint.OTHER, VercelEndpoint.of("/v2/user"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedAndSeparatesTokens() {
+        VercelResponseCache cache = new VercelResponseCache(2, 300, 300, 300, 30, 60);
+        CacheKey a = cache.key("/v9/projects/a", "token-1", Optional.empty());
+        CacheKey b = cache.key("/v9/projects/b", "token-1", Optional.empty());
+        CacheKey c = cache.key("/v9/projects/c", "token-1", Optional.empty());
+
+        cache.put(a, "a", "\"etag-a\"");
+        cache.put(b, "b", null);
+        cache.lookup(a);
+        cache.put(c, "c", null);
+
+        assertTrue(cache.lookup(a).isPresent());
+        assertFalse(cache.lookup(b).isPresent());
+        assertEquals(1, cache.stats().evictions());
+        assertNotEquals(a, cache.key("/v9/projects/a", "token-2", Optional.empty()));
+    }
+
+    @Test
+    void revalidationRefreshesStaleEntry() {
+        VercelResponseCache cache = new VercelResponseCache(10, 0, 0, 0, 0, 0);
+        CacheKey key = cache.key("/v9/projects/a", "token", Optional.of("team"));
+        cache.put(key, "a", "\"v1\"");
+
+        var stale = cache.lookup(key).orElseThrow();
+        assertFalse(stale.isFresh());
+        assertEquals("\"v1\"", cache.revalidated(key, stale).etag());
+        assertEquals(1, cache.stats().revalidations());
+    }
+}
@@ -0,0 +1,119 @@
+package com.threadspace.backend.integration.vercel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
+import com.threadspace.backend.integration.core.IntegrationSecretCache.DecodedSecret;
+import com.threadspace.backend.integration.core.IntegrationStatus;
+import com.threadspace.backend.integration.core.IntegrationType;
+import com.threadspace.backend.integration.vercel.VercelDtos.ProjectSummary;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelDeploymentsResponse;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelDomainsResponse;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelEnvResponse;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelEnvVar;
+import com.threadspace.backend.integration.vercel.VercelDtos.VercelProject;
+
+class VercelServiceTests {
+
+    private final UUID projectId = UUID.randomUUID();
+
+    private VercelApiClient apiClient;
+    private VercelService service;
+
+    @BeforeEach
+    void setUp() {
+        IntegrationSecretCache secretCache = mock(IntegrationSecretCache.class);
+        when(secretCache.get(projectId, IntegrationType.VERCEL, VercelSecretPayload.class))
+                .thenReturn(new DecodedSecret<>(UUID.randomUUID(), projectId, IntegrationStatus.CONNECTED, 1L,
+                        new VercelSecretPayload("token", "web", null)));
+
+        apiClient = mock(VercelApiClient.class);
+        when(apiClient.get(eq("/v9/projects/web"), anyString(), any(), eq(VercelProject.class)))
+                .thenReturn(new VercelProject("prj_1", "web", null, "nextjs", null, null));
+
+        service = new VercelService(secretCache, apiClient, 100);
+    }
+
+    @Test
+    void slowSectionIsCancelledAndReportedUnavailable() {
+        CompletableFuture<VercelDomainsResponse> domains = new CompletableFuture<>();
+        when(apiClient.getAsync(startsWith("/v9/projects/prj_1/domains"), anyString(), any(),
+                eq(VercelDomainsResponse.class))).thenReturn(domains);
+        when(apiClient.getAsync(startsWith("/v10/projects/prj_1/env"), anyString(), any(),
+                eq(VercelEnvResponse.class)))
+                .thenReturn(CompletableFuture.completedFuture(
+                        new VercelEnvResponse(List.of(new VercelEnvVar("API_URL", List.of("production"))))));
+
+        ProjectSummary summary = service.getProjectSummary(projectId,
+                EnumSet.of(SummaryField.NAME, SummaryField.DOMAINS, SummaryField.ENVS));
+
+        assertTrue(domains.isCancelled());
+        assertEquals(List.of("domains"), summary.unavailable());
+        assertEquals(List.of(), summary.domains());
+        assertEquals(1, summary.envs().size());
+    }
+
+    @Test
+    void failedSectionDoesNotFailTheSummary() {
+        when(apiClient.getAsync(startsWith("/v6/deployments"), anyString(), any(),
+                eq(VercelDeploymentsResponse.class)))
+                .thenReturn(CompletableFuture.failedFuture(new VercelApiException(502, "bad gateway", null)));
+
+        ProjectSummary summary = service.getProjectSummary(projectId,
+                EnumSet.of(SummaryField.NAME, SummaryField.DEPLOYMENTS));
+
+        assertEquals("web", summary.name());
+        assertEquals(List.of("deployments"), summary.unavailable());
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(apiClient.getAsync(startsWith("/v10/projects/prj_1/env"), anyString(), any(),
+                eq(VercelEnvResponse.class))).thenAnswer(call -> {
+                    release.await(2, TimeUnit.SECONDS);
+                    return CompletableFuture.completedFuture(new VercelEnvResponse(List.of()));
+                });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ProjectSummary>> callers = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                callers.add(pool.submit(() -> service.getProjectSummary(projectId, EnumSet.of(SummaryField.ENVS))));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            ProjectSummary first = callers.get(0).get(2, TimeUnit.SECONDS);
+            for (Future<ProjectSummary> caller : callers) {
+                assertEquals(first, caller.get(2, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        verify(apiClient, times(1)).get(eq("/v9/projects/web"), anyString(), any(), eq(VercelProject.class));
+    }
+}
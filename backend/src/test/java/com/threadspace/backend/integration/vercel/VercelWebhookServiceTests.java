@@ -0,0 +1,186 @@
+package com.threadspace.backend.integration.vercel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threadspace.backend.integration.core.Integration;
+import com.threadspace.backend.integration.core.IntegrationRepository;
+import com.threadspace.backend.integration.core.IntegrationSecretCache;
+import com.threadspace.backend.integration.core.IntegrationSecretCache.DecodedSecret;
+import com.threadspace.backend.integration.core.IntegrationStatus;
+import com.threadspace.backend.integration.vercel.VercelResponseCache.CacheKey;
+
+class VercelWebhookServiceTests {
+
+    private static final String SECRET = "webhook-secret";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, VercelDeploymentRecord> stored = new HashMap<>();
+    private final VercelDeploymentRecordRepository deploymentRepository = mock(VercelDeploymentRecordRepository.class);
+    private final VercelResponseCache responseCache = new VercelResponseCache(100, 300, 300, 300, 30, 60);
+
+    private Integration integration;
+    private VercelWebhookService service;
+
+    @BeforeEach
+    void setUp() {
+        integration = new Integration();
+        integration.setId(UUID.randomUUID());
+        integration.setProjectId(UUID.randomUUID());
+
+        when(deploymentRepository.findByIntegrationIdAndDeploymentId(eq(integration.getId()), anyString()))
+                .thenAnswer(call -> Optional.ofNullable(stored.get(call.getArgument(1, String.class))));
+        when(deploymentRepository.save(any(VercelDeploymentRecord.class))).thenAnswer(call -> {
+            VercelDeploymentRecord record = call.getArgument(0);
+            stored.put(record.getDeploymentId(), record);
+            return record;
+        });
+
+        VercelSyncState state = new VercelSyncState();
+        state.setIntegrationId(integration.getId());
+        state.setVercelProjectId("prj_1");
+        VercelSyncStateRepository syncStateRepository = mock(VercelSyncStateRepository.class);
+        when(syncStateRepository.findByVercelProjectId("prj_1")).thenReturn(List.of(state));
+
+        IntegrationRepository integrationRepository = mock(IntegrationRepository.class);
+        when(integrationRepository.findById(integration.getId())).thenReturn(Optional.of(integration));
+
+        IntegrationSecretCache secretCache = mock(IntegrationSecretCache.class);
+        when(secretCache.get(integration, VercelSecretPayload.class)).thenReturn(new DecodedSecret<>(
+                integration.getId(), integration.getProjectId(), IntegrationStatus.CONNECTED, 1,
+                new VercelSecretPayload("token", "web", null)));
+
+        VercelDeploymentService deploymentService = new VercelDeploymentService(
+                secretCache,
+                deploymentRepository,
+                syncStateRepository,
+                mock(VercelApiClient.class),
+                mock(TransactionTemplate.class),
+                mock(VercelAnalyticsService.class),
+                10);
+        service = new VercelWebhookService(syncStateRepository, integrationRepository, secretCache,
+                deploymentService, responseCache, SECRET);
+    }
+
+    @Test
+    void acceptsOnlyBodiesSignedWithTheSecret() throws Exception {
+        byte[] body = "{\"type\":\"deployment.created\"}".getBytes(StandardCharsets.UTF_8);
+        String signature = sign(body, SECRET);
+
+        assertTrue(service.isSignatureValid(body, signature));
+        assertTrue(service.isSignatureValid(body, signature.toUpperCase()));
+        assertFalse(service.isSignatureValid(body, sign(body, "other-secret")));
+        assertFalse(service.isSignatureValid("{}".getBytes(StandardCharsets.UTF_8), signature));
+        assertFalse(service.isSignatureValid(body, null));
+    }
+
+    @Test
+    void rejectsEverythingWithoutASecret() throws Exception {
+        VercelWebhookService unsecured = new VercelWebhookService(null, null, null, null, responseCache, "");
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(unsecured.isSignatureValid(body, sign(body, SECRET)));
+    }
+
+    @Test
+    void lateEventDoesNotRegressFinishedDeployment() throws Exception {
+        service.handle(event("deployment.error", 2_000, "dpl_1", 1_000L));
+        service.handle(event("deployment.created", 1_000, "dpl_1", 1_000L));
+
+        VercelDeploymentRecord record = stored.get("dpl_1");
+        assertEquals("ERROR", record.getState());
+        assertEquals(2_000L, record.getStateAt());
+        assertEquals(1_000L, record.getCreatedAt());
+    }
+
+    @Test
+    void newerEventReplacesState() throws Exception {
+        service.handle(event("deployment.created", 1_000, "dpl_1", null));
+        service.handle(event("deployment.succeeded", 3_000, "dpl_1", null));
+
+        VercelDeploymentRecord record = stored.get("dpl_1");
+        assertEquals("READY", record.getState());
+        assertEquals(1_000L, record.getCreatedAt());
+        assertEquals(3_000L, record.getReadyAt());
+    }
+
+    @Test
+    void skipsUnknownDeploymentWithoutCreationTime() throws Exception {
+        service.handle(event("deployment.succeeded", 3_000, "dpl_unknown", null));
+
+        assertFalse(stored.containsKey("dpl_unknown"));
+        verify(deploymentRepository, never()).save(any());
+    }
+
+    @Test
+    void storesUnknownDeploymentWithPayloadCreationTime() throws Exception {
+        service.handle(event("deployment.succeeded", 3_000, "dpl_2", 2_500L));
+
+        assertEquals(2_500L, stored.get("dpl_2").getCreatedAt());
+        assertEquals("READY", stored.get("dpl_2").getState());
+    }
+
+    @Test
+    void invalidatesOnlyTheNamedProject() throws Exception {
+        CacheKey byName = responseCache.key("/v9/projects/web", "token", Optional.empty());
+        CacheKey byId = responseCache.key("/v9/projects/prj_1/domains", "token", Optional.empty());
+        CacheKey listing = responseCache.key("/v6/deployments?projectId=prj_1&limit=10", "token", Optional.empty());
+        CacheKey similarName = responseCache.key("/v9/projects/web-admin", "token", Optional.empty());
+        CacheKey similarId = responseCache.key("/v9/projects/prj_10/domains", "token", Optional.empty());
+        for (CacheKey key : List.of(byName, byId, listing, similarName, similarId)) {
+            responseCache.put(key, "cached", null);
+        }
+
+        service.handle(event("project.env-variable.created", 1_000, null, null));
+
+        assertFalse(responseCache.lookup(byName).isPresent());
+        assertFalse(responseCache.lookup(byId).isPresent());
+        assertFalse(responseCache.lookup(listing).isPresent());
+        assertTrue(responseCache.lookup(similarName).isPresent());
+        assertTrue(responseCache.lookup(similarId).isPresent());
+    }
+
+    private JsonNode event(String type, long at, String deploymentId, Long createdAt) throws Exception {
+        StringBuilder deployment = new StringBuilder();
+        if (deploymentId != null) {
+            deployment.append(",\"deployment\":{\"id\":\"").append(deploymentId).append('"');
+            if (createdAt != null) {
+                deployment.append(",\"createdAt\":").append(createdAt);
+            }
+            deployment.append('}');
+        }
+        return objectMapper.readTree("{\"type\":\"" + type + "\",\"createdAt\":" + at
+                + ",\"payload\":{\"project\":{\"id\":\"prj_1\"},\"target\":\"production\"" + deployment + "}}");
+    }
+
+    private static String sign(byte[] body, String secret) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA1");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA1"));
+        return HexFormat.of().formatHex(mac.doFinal(body));
+    }
+}
@@ -15,6 +15,10 @@ type S3BucketInfo = {
     objectCount: number;
     sizeBytes: number;
     region: string;
+    addedBytes: number;
+    removedBytes: number;
+    changedBytes: number;
+    error?: string;
 };
 
 type S3Metrics = {
@@ -22,6 +26,7 @@ type S3Metrics = {
     totalObjects: number;
     totalStorageGB: number;
     buckets: S3BucketInfo[];
+    unavailable?: string[];
 };
 
 const COLORS = ["#3b82f6", "#10b981", "#f59e0b", "#ef4444", "#8b5cf6", "#ec4899"];
@@ -68,6 +73,11 @@ export default function S3DashboardPage() {
         return Math.round((bytes / Math.pow(k, i)) * 100) / 100 + " " + sizes[i];
     };
 
+    const formatDelta = (bytes: number) => {
+        if (!bytes) return "—";
+        return (bytes > 0 ? "+" : "-") + formatBytes(Math.abs(bytes));
+    };
+
     // Prepare chart data
     const bucketSizeData = metrics?.buckets
         .sort((a, b) => b.sizeBytes - a.sizeBytes)
@@ -221,12 +231,13 @@ export default function S3DashboardPage() {
                                         <TableHead>Created</TableHead>
                                         <TableHead>Objects</TableHead>
                                         <TableHead className="text-right">Size</TableHead>
+                                        <TableHead className="text-right">Change</TableHead>
                                     </TableRow>
                                 </TableHeader>
                                 <TableBody>
                                     {metrics?.buckets.length === 0 ? (
                                         <TableRow>
-                                            <TableCell colSpan={5} className="text-center text-gray-500">
+                                            <TableCell colSpan={6} className="text-center text-gray-500">
                                                 No S3 buckets found
                                             </TableCell>
                                         </TableRow>
@@ -244,10 +255,21 @@ export default function S3DashboardPage() {
                                                         ? new Date(bucket.creationDate).toLocaleDateString()
                                                         : "N/A"}
                                                 </TableCell>
-                                                <TableCell>{bucket.objectCount.toLocaleString()}</TableCell>
-                                                <TableCell className="text-right">
-                                                    {formatBytes(bucket.sizeBytes)}
-                                                </TableCell>
+                                                {bucket.error ? (
+                                                    <TableCell colSpan={3} className="text-right text-sm text-muted-foreground" title={bucket.error}>
+                                                        Unavailable
+                                                    </TableCell>
+                                                ) : (
+                                                    <>
+                                                        <TableCell>{bucket.objectCount.toLocaleString()}</TableCell>
+                                                        <TableCell className="text-right">
+                                                            {formatBytes(bucket.sizeBytes)}
+                                                        </TableCell>
+                                                        <TableCell className="text-right">
+                                                            {formatDelta(bucket.changedBytes)}
+                                                        </TableCell>
+                                                    </>
+                                                )}
                                             </TableRow>
                                         ))
                                     )}
@@ -20,6 +20,8 @@ export type VercelSummary = {
         target: string | null;
         createdAt: number;
     }[];
+    // Sections Vercel failed to return in time, e.g. "domains"
+    unavailable?: string[];
 };
 
 export const WIDGET_REGISTRY: Record<string, WidgetDef[]> = {
@@ -80,7 +82,14 @@ export function ProjectInfoWidget({ summary }: { summary: VercelSummary }) {
     );
 }
 
+function SectionUnavailable() {
+    return <p className="text-sm text-muted-foreground">Temporarily unavailable</p>;
+}
+
 export function DeploymentsWidget({ summary }: { summary: VercelSummary }) {
+    if (summary.unavailable?.includes("deployments")) {
+        return <SectionUnavailable />;
+    }
     if (summary.deployments.length === 0) {
         return <p className="text-sm text-muted-foreground">No deployments yet</p>;
     }
@@ -103,6 +112,9 @@ export function DeploymentsWidget({ summary }: { summary: VercelSummary }) {
 }
 
 export function DomainsWidget({ summary }: { summary: VercelSummary }) {
+    if (summary.unavailable?.includes("domains")) {
+        return <SectionUnavailable />;
+    }
     if (summary.domains.length === 0) {
         return <p className="text-sm text-muted-foreground">No custom domains</p>;
     }
@@ -127,6 +139,9 @@ export function DomainsWidget({ summary }: { summary: VercelSummary }) {
 }
 
 export function EnvVarsWidget({ summary }: { summary: VercelSummary }) {
+    if (summary.unavailable?.includes("envs")) {
+        return <SectionUnavailable />;
+    }
     if (summary.envs.length === 0) {
         return <p className="text-sm text-muted-foreground">No environment variables</p>;
     }
@@ -17,10 +17,42 @@ export async function GET(
     }
 
     const { projectId } = await params;
+    const refresh = req.nextUrl.searchParams.get("refresh") === "true";
 
-    // Fetch S3 metrics from backend
+    // Progressive variant: pass the backend's NDJSON stream straight through,
+    // one bucket per line followed by the aggregate metrics record
+    if (req.nextUrl.searchParams.get("stream") === "true") {
+      const streamResponse = await fetch(
+        `${BACKEND_BASE}/projects/${projectId}/aws/s3/buckets/stream`,
+        {
+          method: "GET",
+          headers: {
+            Accept: "application/x-ndjson",
+            "x-internal-token": INTERNAL_SYNC_TOKEN,
+          },
+        }
+      );
+
+      if (!streamResponse.ok || !streamResponse.body) {
+        const errorText = await streamResponse.text();
+        console.error("Failed to stream S3 buckets:", streamResponse.status, errorText);
+        return NextResponse.json(
+          { message: errorText || "Failed to stream S3 buckets" },
+          { status: streamResponse.status }
+        );
+      }
+
+      return new Response(streamResponse.body, {
+        headers: {
+          "Content-Type": "application/x-ndjson",
+          "Cache-Control": "no-store",
+        },
+      });
+    }
+
+    // Fetch S3 metrics from backend (served from the latest stored snapshot)
     const response = await fetch(
-      `${BACKEND_BASE}/projects/${projectId}/aws/s3/metrics`,
+      `${BACKEND_BASE}/projects/${projectId}/aws/s3/metrics${refresh ? "?refresh=true" : ""}`,
       {
         method: "GET",
         headers: {